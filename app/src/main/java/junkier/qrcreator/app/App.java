@@ -10,7 +10,9 @@ import java.io.IOException;
 import javafx.scene.image.Image;
 
 /**
- * JavaFX App
+ * JavaFX App. La ventana se muestra antes de cargar ZXing: el primer preview
+ * lo pide el controlador cuando la ventana ya está en pantalla y se
+ * renderiza en segundo plano
  */
 public class App extends Application {
 
@@ -24,6 +26,7 @@ public class App extends Application {
         stage.setScene(scene);
         stage.setResizable(false);
         stage.show();
+        AppStartup.windowShown(scene);
     }
 
     private static Parent loadFXML(String fxml) throws IOException {
@@ -32,6 +35,7 @@ public class App extends Application {
     }
 
     public static void main(String[] args) {
+        AppStartup.mainEntered();
         launch();
     }
 
@@ -0,0 +1,104 @@
+package junkier.qrcreator.app;
+
+import java.io.OutputStream;
+import java.util.Locale;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Scene;
+import javafx.scene.image.ImageView;
+import junkier.qrcreator.services.QrGeneratorService;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+
+/**
+ * Medición del arranque y ejecución de entrenamiento para el archivo CDS.
+ * Solo hace algo si se arranca con alguna de estas propiedades:
+ *
+ * -Dqrcreator.startup=print|exit escribe en la salida estándar cuándo se
+ * muestra la ventana y cuándo llega el primer preview (en ms desde main), y
+ * con exit cierra la aplicación tras el primer preview. Es lo que lee
+ * StartupBenchmark
+ *
+ * -Dqrcreator.training=true tras el primer preview recorre lo que hace un
+ * usuario normal (render a tamaño completo, comprobación de lectura, PNG y
+ * el diálogo de información) y cierra la aplicación, para que
+ * -XX:ArchiveClassesAtExit guarde todas esas clases
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.0
+ */
+final class AppStartup {
+
+    private static final String STARTUP = System.getProperty("qrcreator.startup", "");
+    private static final boolean TRAINING = Boolean.getBoolean("qrcreator.training");
+
+    private static long mainNanos;
+
+    private AppStartup() {
+    }
+
+    /**
+     * Primera línea de main
+     */
+    static void mainEntered() {
+        mainNanos = System.nanoTime();
+    }
+
+    /**
+     * La ventana ya se ha mostrado. Espera al primer preview del ImageView
+     * del QR para marcar el primer frame
+     *
+     * @param scene escena principal
+     */
+    static void windowShown(Scene scene) {
+        if (STARTUP.isEmpty() && !TRAINING) {
+            return;
+        }
+        mark("window");
+        ImageView qrImage = (ImageView) scene.lookup("#qrImage");
+        qrImage.imageProperty().addListener((observable, oldImage, image) -> {
+            if (oldImage == null && image != null) {
+                firstFrame();
+            }
+        });
+    }
+
+    private static void firstFrame() {
+        mark("frame");
+        if (TRAINING) {
+            Thread training = new Thread(AppStartup::train, "qr-training");
+            training.setDaemon(true);
+            training.start();
+        } else if (STARTUP.equals("exit")) {
+            Platform.exit();
+        }
+    }
+
+    private static void train() {
+        String content = "https://example.org/qrcreator?training=1";
+        try {
+            QrGeneratorService.writePng(QrGeneratorService.generatorPreview(content, "", 0xFF000000, 0xFFFFFFFF,
+                    EyeShape.CIRCLE), 0, OutputStream.nullOutputStream());
+            QrGeneratorService.isReadable(content, "", 0xFF000000, 0xFFFFFFFF, EyeShape.CIRCLE);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        Platform.runLater(() -> {
+            // Solo se carga, sin mostrarlo: basta para archivar FXML y controlador
+            try {
+                new FXMLLoader(AppStartup.class.getResource("/junkier/qrcreator/view/info.fxml")).load();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            mark("trained");
+            Platform.exit();
+        });
+    }
+
+    private static void mark(String event) {
+        System.out.println(String.format(Locale.ROOT, "qrcreator.startup %s %.1f", event,
+                (System.nanoTime() - mainNanos) / 1e6));
+        System.out.flush();
+    }
+}
@@ -2,28 +2,29 @@ package junkier.qrcreator.controller;
 
 import junkier.qrcreator.services.QrGeneratorService;
 import junkier.qrcreator.services.QrReadService;
+import junkier.qrcreator.services.QrRenderer;
 import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
 
 import java.awt.Desktop;
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.net.URL;
 import java.util.ResourceBundle;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 
-import javafx.embed.swing.SwingFXUtils;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.ColorPicker;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
 import javafx.stage.FileChooser;
 import javafx.stage.FileChooser.ExtensionFilter;
+import javafx.stage.Screen;
 import javafx.stage.Stage;
+import javafx.stage.Window;
 
 /**
  * Controlador que controla la pantalla principal, donde el usuario
@@ -31,7 +32,7 @@ import javafx.stage.Stage;
  *
  * @author Cristian Delgado Cruz
  * @since 2025-07-29
- * @version 1.2
+ * @version 1.7
  */
 public class QrController implements Initializable {
 
@@ -52,6 +53,11 @@ public class QrController implements Initializable {
 
     private Stage parentStage;
 
+    private final QrPreviewPipeline previewPipeline = new QrPreviewPipeline(PREVIEW_DEBOUNCE_MS,
+            FULL_RENDER_DELAY_MS, frame -> qrImage.setImage(frame.image()));
+
+    private static final long PREVIEW_DEBOUNCE_MS = 120;
+    private static final long FULL_RENDER_DELAY_MS = 1000;
     private static final String INVALID_FILENAME_CHARS = "[\\\\/:*?\"<>|]";
     private static final String ERROR_STYLE
             = "-fx-background-color: "
@@ -67,7 +73,20 @@ public class QrController implements Initializable {
         eyesCB.valueProperty().addListener((observable, oldValue, newValue) -> {
             previewQr();
         });
-        previewQr();
+        // Si la ventana pasa a una pantalla con otra escala el preview se
+        // vuelve a pedir a la nueva resolución
+        qrImage.sceneProperty().addListener((observable, oldScene, scene) -> {
+            if (scene != null) {
+                scene.windowProperty().addListener((windowObservable, oldWindow, window) -> {
+                    if (window != null) {
+                        window.outputScaleXProperty().addListener((scale, oldScale, newScale) -> previewQr());
+                    }
+                });
+            }
+        });
+        // El primer preview se pide cuando la ventana ya se ha mostrado, y
+        // ZXing se carga en el hilo del preview, no antes de pintarla
+        Platform.runLater(this::previewQr);
     }
 
     @FXML
@@ -115,8 +134,8 @@ public class QrController implements Initializable {
                 adressQrTF.getText(),
                 nameQrTF.getText(),
                 imagePathField.getText(),
-                frontPatPicker.getValue(),
-                backGrPicker.getValue(),
+                fxColorToArgb(frontPatPicker.getValue()),
+                fxColorToArgb(backGrPicker.getValue()),
                 eyesCB.getValue()
         );
 
@@ -174,24 +193,50 @@ public class QrController implements Initializable {
     }
     
     /**
-     *  Metodo que muestra el cambio del qr a tiempo real
+     *  Metodo que muestra el cambio del qr a tiempo real. Captura los valores
+     *  de los controles y delega el render en la tubería del preview, que lo
+     *  hace fuera del hilo de JavaFX
      */
     private void previewQr() {
         String content = adressQrTF.getText().isBlank() ? "null" : adressQrTF.getText();
+        String imagePath = imagePathField.getText() == null ? "" : imagePathField.getText();
+        int front = fxColorToArgb(frontPatPicker.getValue());
+        int back = fxColorToArgb(backGrPicker.getValue());
+        EyeShape eyeshape = eyesCB.getValue();
 
-        BufferedImage qr = QrGeneratorService.generatorPreview(
-                content,
-                imagePathField.getText(),
-                frontPatPicker.getValue(),
-                backGrPicker.getValue(),
-                eyesCB.getValue()
-        );
+        int size = previewSize();
 
-        Image preview = SwingFXUtils.toFXImage(qr, null);
+        // El preview se pinta al tamaño visible; el QR a tamaño completo se
+        // deja en la caché del renderizador cuando el usuario se para, para
+        // que guardar no tenga que renderizarlo
+        previewPipeline.request(() -> QrGeneratorService.previewLayers(
+                content,
+                imagePath,
+                front,
+                back,
+                eyeshape,
+                size
+        ), () -> QrGeneratorService.generatorPreview(
+                content,
+                imagePath,
+                front,
+                back,
+                eyeshape
+        ));
+    }
 
-        if (preview != null) {
-            qrImage.setImage(preview);
-        }
+    /**
+     * Lado del preview en pixeles físicos: lo que ocupa el ImageView por la
+     * escala de la pantalla
+     *
+     * @return tamaño del render del preview
+     */
+    private int previewSize() {
+        double width = qrImage.getFitWidth() > 0 ? qrImage.getFitWidth() : qrImage.getLayoutBounds().getWidth();
+        Window window = qrImage.getScene() == null ? null : qrImage.getScene().getWindow();
+        double scale = window != null ? window.getOutputScaleX() : Screen.getPrimary().getOutputScaleX();
+        int size = (int) Math.ceil(width * scale);
+        return size > 0 ? size : QrRenderer.DEFAULT_SIZE;
     }
 
     @FXML
@@ -255,14 +300,27 @@ public class QrController implements Initializable {
     }
 
     private boolean isNotReadeable() {
-        BufferedImage qr = QrGeneratorService.generatorPreview(
+        return !QrGeneratorService.isReadable(
                 adressQrTF.getText(),
                 imagePathField.getText(),
-                frontPatPicker.getValue(),
-                backGrPicker.getValue(),
+                fxColorToArgb(frontPatPicker.getValue()),
+                fxColorToArgb(backGrPicker.getValue()),
                 eyesCB.getValue()
         );
-        return !QrReadService.isQrReadable(qr);
+    }
+
+    /**
+     * Convertir Color JavaFX en ARGB, con el mismo redondeo que java.awt.Color
+     *
+     * @param fxColor Color fx elegido
+     * @return Color ARGB para el servicio de generación
+     */
+    private static int fxColorToArgb(Color fxColor) {
+        int a = (int) ((float) fxColor.getOpacity() * 255 + 0.5);
+        int r = (int) ((float) fxColor.getRed() * 255 + 0.5);
+        int g = (int) ((float) fxColor.getGreen() * 255 + 0.5);
+        int b = (int) ((float) fxColor.getBlue() * 255 + 0.5);
+        return (a << 24) | (r << 16) | (g << 8) | b;
     }
 
     private boolean isNotValidFileName() {
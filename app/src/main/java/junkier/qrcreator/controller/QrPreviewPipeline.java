@@ -0,0 +1,170 @@
+package junkier.qrcreator.controller;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import junkier.qrcreator.services.QrRenderer;
+
+/**
+ * Tubería del preview del QR. Agrupa los cambios seguidos (debounce),
+ * renderiza en un hilo de fondo, cancela los renders que se han quedado
+ * obsoletos y solo publica en el hilo de JavaFX el último frame pedido. Los
+ * frames llegan como piezas sin montar y se pintan en un
+ * {@link QrPreviewSurface}, así que el ImageView recibe siempre la misma
+ * imagen y solo se copia la región que cambia
+ *
+ * Cada petición puede traer además un trabajo diferido (el render a tamaño
+ * completo) que solo se hace si el usuario deja de tocar los controles un
+ * rato tras publicarse el preview
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.3
+ */
+public class QrPreviewPipeline {
+
+    /**
+     * Frame publicado en el hilo de JavaFX
+     *
+     * @param image imagen lista para el ImageView, la misma entre frames
+     * mientras no cambie el tamaño
+     * @param sequence número de petición que lo generó
+     * @param renderNanos tiempo de render en el hilo de fondo
+     */
+    public record Frame(Image image, long sequence, long renderNanos) {
+    }
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "qr-preview");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long debounceMillis;
+    private final long deferMillis;
+    private final Consumer<Frame> publisher;
+    private final AtomicLong sequence = new AtomicLong();
+    private final QrPreviewSurface surface = new QrPreviewSurface();
+
+    private ScheduledFuture<?> pending;
+    private volatile long lastRenderNanos;
+    // Solo hilo de JavaFX: la última imagen entregada al publicador
+    private Image published;
+
+    /**
+     * @param debounceMillis espera desde el último cambio antes de renderizar
+     * @param publisher consumidor del frame, siempre en el hilo de JavaFX
+     */
+    public QrPreviewPipeline(long debounceMillis, Consumer<Frame> publisher) {
+        this(debounceMillis, 0, publisher);
+    }
+
+    /**
+     * @param debounceMillis espera desde el último cambio antes de renderizar
+     * @param deferMillis espera desde el preview hasta el trabajo diferido
+     * @param publisher consumidor del frame, siempre en el hilo de JavaFX
+     */
+    public QrPreviewPipeline(long debounceMillis, long deferMillis, Consumer<Frame> publisher) {
+        this.debounceMillis = debounceMillis;
+        this.deferMillis = deferMillis;
+        this.publisher = publisher;
+    }
+
+    /**
+     * Pide un nuevo preview. El render debe capturar los valores de los
+     * controles antes de llamar, porque se ejecuta fuera del hilo de JavaFX
+     *
+     * @param render tarea que genera las piezas del QR
+     */
+    public void request(Callable<QrRenderer.Layers> render) {
+        request(render, null);
+    }
+
+    /**
+     * Pide un nuevo preview y, si nadie pide otro antes, un trabajo diferido
+     * después de publicarlo. Una petición nueva cancela los dos
+     *
+     * @param render tarea que genera las piezas del QR
+     * @param deferred trabajo en segundo plano tras el preview, o null
+     */
+    public synchronized void request(Callable<QrRenderer.Layers> render, Runnable deferred) {
+        long current = sequence.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(true);
+        }
+        pending = executor.schedule(() -> run(current, render, deferred), debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Tiempo que tardó en renderizarse el último frame, en nanosegundos
+     *
+     * @return latencia del último render
+     */
+    public long getLastRenderNanos() {
+        return lastRenderNanos;
+    }
+
+    /**
+     * Detiene el hilo de fondo
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(long current, Callable<QrRenderer.Layers> render, Runnable deferred) {
+        if (isStale(current)) {
+            return;
+        }
+        long start = System.nanoTime();
+        QrRenderer.Layers layers;
+        try {
+            layers = render.call();
+        } catch (Exception e) {
+            return;
+        }
+        if (layers == null || isStale(current)) {
+            return;
+        }
+        boolean changed = surface.stage(layers);
+        long renderNanos = System.nanoTime() - start;
+        lastRenderNanos = renderNanos;
+        if (changed) {
+            Platform.runLater(() -> {
+                // Aunque el frame ya sea viejo lo preparado se copia igual: el
+                // siguiente solo trae su propia región sucia. Si al copiarlo
+                // ha cambiado de tamaño la imagen se publica también, porque
+                // si el siguiente frame es igual no habrá otra ocasión
+                Image preview = surface.flush();
+                if (!isStale(current) || preview != published) {
+                    published = preview;
+                    publisher.accept(new Frame(preview, current, renderNanos));
+                }
+            });
+        }
+        if (deferred != null) {
+            defer(current, deferred);
+        }
+    }
+
+    private synchronized void defer(long current, Runnable deferred) {
+        if (isStale(current)) {
+            return;
+        }
+        pending = executor.schedule(() -> {
+            if (!isStale(current)) {
+                deferred.run();
+            }
+        }, deferMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean isStale(long current) {
+        return Thread.currentThread().isInterrupted() || current != sequence.get();
+    }
+}
@@ -0,0 +1,215 @@
+package junkier.qrcreator.controller;
+
+import java.awt.image.BufferedImage;
+import java.nio.IntBuffer;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import junkier.qrcreator.services.QrModuleRaster;
+import junkier.qrcreator.services.QrRenderer;
+
+/**
+ * Destino del preview sobre un {@link PixelBuffer} de JavaFX que se reutiliza
+ * entre frames, sin pasar por AWT ni por SwingFXUtils. Cada frame llega como
+ * piezas sin montar ({@link QrRenderer.Layers}): la rejilla de índices se
+ * traduce con la paleta directamente al buffer intermedio y la caja del logo
+ * se compone encima
+ *
+ * La región sucia sale de lo que ha cambiado entre un frame y el anterior,
+ * sin comparar pixeles: otra rejilla u otros colores repintan todo, solo
+ * otro logo repinta su caja, y lo mismo no repinta nada
+ *
+ * El hilo de fondo llama a {@link #stage(QrRenderer.Layers)} y el de JavaFX a
+ * {@link #flush()}. El buffer de JavaFX solo se toca dentro de updateBuffer,
+ * como pide JavaFX; entre los dos hilos está el buffer intermedio protegido
+ * por un cerrojo
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.1
+ */
+public class QrPreviewSurface {
+
+    private final Object lock = new Object();
+
+    // Protegido por lock: frame pendiente de copiar, su región sucia y las
+    // piezas con las que se pintó
+    private IntBuffer staged = IntBuffer.allocate(0);
+    private int size;
+    private int dirtyMinX;
+    private int dirtyMinY;
+    private int dirtyMaxX = -1;
+    private int dirtyMaxY = -1;
+    private boolean resized;
+    private QrModuleRaster modules;
+    private int front;
+    private int back;
+    private BufferedImage logoBox;
+    private int[] row = new int[0];
+
+    // Solo hilo de JavaFX
+    private PixelBuffer<IntBuffer> buffer;
+    private WritableImage image;
+
+    /**
+     * Pinta en el buffer intermedio lo que ha cambiado respecto al frame
+     * anterior. Se llama desde el hilo de fondo
+     *
+     * @param layers piezas del QR
+     * @return si hay algo que copiar al buffer de JavaFX
+     */
+    public boolean stage(QrRenderer.Layers layers) {
+        int side = layers.modules().size();
+        int frontPre = premultiply(layers.front());
+        int backPre = premultiply(layers.back());
+        synchronized (lock) {
+            int minX;
+            int minY;
+            int maxX;
+            int maxY;
+            if (side != size) {
+                staged = IntBuffer.allocate(side * side);
+                size = side;
+                resized = true;
+                // lo pendiente era del tamaño anterior
+                dirtyMaxX = -1;
+                minX = 0;
+                minY = 0;
+                maxX = side - 1;
+                maxY = side - 1;
+            } else if (layers.modules() != modules || frontPre != front || backPre != back) {
+                minX = 0;
+                minY = 0;
+                maxX = side - 1;
+                maxY = side - 1;
+            } else if (layers.logoBox() != logoBox) {
+                // Solo cambia el logo: su caja, y la del anterior si lo había
+                BufferedImage box = layers.logoBox() != null ? layers.logoBox() : logoBox;
+                int offset = (side - box.getWidth()) / 2;
+                minX = offset;
+                minY = offset;
+                maxX = offset + box.getWidth() - 1;
+                maxY = offset + box.getHeight() - 1;
+                if (layers.logoBox() != null && logoBox != null) {
+                    int previous = (side - logoBox.getWidth()) / 2;
+                    minX = Math.min(minX, previous);
+                    minY = Math.min(minY, previous);
+                    maxX = Math.max(maxX, previous + logoBox.getWidth() - 1);
+                    maxY = Math.max(maxY, previous + logoBox.getHeight() - 1);
+                }
+            } else {
+                return false;
+            }
+            modules = layers.modules();
+            front = frontPre;
+            back = backPre;
+            logoBox = layers.logoBox();
+
+            modules.copyTo(staged, front, back, minX, minY, maxX - minX + 1, maxY - minY + 1);
+            if (logoBox != null) {
+                compose(layers.logoOffset());
+            }
+
+            if (dirtyMaxX < 0) {
+                dirtyMinX = minX;
+                dirtyMinY = minY;
+                dirtyMaxX = maxX;
+                dirtyMaxY = maxY;
+            } else {
+                dirtyMinX = Math.min(dirtyMinX, minX);
+                dirtyMinY = Math.min(dirtyMinY, minY);
+                dirtyMaxX = Math.max(dirtyMaxX, maxX);
+                dirtyMaxY = Math.max(dirtyMaxY, maxY);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copia lo pendiente al buffer de JavaFX y avisa de la región sucia. Solo
+     * crea un buffer nuevo si ha cambiado el tamaño. Se llama desde el hilo
+     * de JavaFX
+     *
+     * @return la imagen del ImageView, siempre la misma mientras no cambie el
+     * tamaño
+     */
+    public WritableImage flush() {
+        synchronized (lock) {
+            if (resized) {
+                buffer = new PixelBuffer<>(size, size, IntBuffer.allocate(size * size),
+                        PixelFormat.getIntArgbPreInstance());
+                image = new WritableImage(buffer);
+                resized = false;
+            }
+            if (dirtyMaxX >= 0) {
+                int x = dirtyMinX;
+                int y = dirtyMinY;
+                int w = dirtyMaxX - dirtyMinX + 1;
+                int h = dirtyMaxY - dirtyMinY + 1;
+                buffer.updateBuffer(pixels -> {
+                    IntBuffer target = pixels.getBuffer();
+                    for (int r = y; r < y + h; r++) {
+                        target.put(r * size + x, staged, r * size + x, w);
+                    }
+                    return new Rectangle2D(x, y, w, h);
+                });
+                dirtyMaxX = -1;
+                dirtyMaxY = -1;
+            }
+            return image;
+        }
+    }
+
+    /**
+     * Compone la caja del logo sobre la rejilla ya pintada, como hace
+     * QrRenderer con AlphaComposite.SrcOver. Llamar con el cerrojo
+     */
+    private void compose(int offset) {
+        int w = logoBox.getWidth();
+        int h = logoBox.getHeight();
+        if (row.length < w) {
+            row = new int[w];
+        }
+        for (int y = 0; y < h; y++) {
+            logoBox.getRGB(0, y, w, 1, row, 0, w);
+            int index = (offset + y) * size + offset;
+            for (int x = 0; x < w; x++, index++) {
+                int src = premultiply(row[x]);
+                int a = src >>> 24;
+                if (a == 0xFF) {
+                    staged.put(index, src);
+                } else if (a != 0) {
+                    staged.put(index, over(src, staged.get(index)));
+                }
+            }
+        }
+    }
+
+    /**
+     * src sobre dst, los dos premultiplicados
+     */
+    private static int over(int src, int dst) {
+        int inverse = 255 - (src >>> 24);
+        int a = (src >>> 24) + (dst >>> 24) * inverse / 255;
+        int r = ((src >> 16) & 0xFF) + ((dst >> 16) & 0xFF) * inverse / 255;
+        int g = ((src >> 8) & 0xFF) + ((dst >> 8) & 0xFF) * inverse / 255;
+        int b = (src & 0xFF) + (dst & 0xFF) * inverse / 255;
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    private static int premultiply(int argb) {
+        int a = argb >>> 24;
+        if (a == 0xFF) {
+            return argb;
+        }
+        if (a == 0) {
+            return 0;
+        }
+        int r = ((argb >> 16) & 0xFF) * a / 255;
+        int g = ((argb >> 8) & 0xFF) * a / 255;
+        int b = (argb & 0xFF) * a / 255;
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+}
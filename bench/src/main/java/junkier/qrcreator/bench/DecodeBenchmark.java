@@ -0,0 +1,70 @@
+package junkier.qrcreator.bench;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import junkier.qrcreator.services.QrReadService;
+import junkier.qrcreator.services.QrReadabilityService;
+import junkier.qrcreator.services.QrRenderSpec;
+import junkier.qrcreator.services.QrRenderer;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Comprobación de lectura: decodificar la imagen con ZXing (isQrReadable)
+ * frente a la comprobación analítica, que solo decodifica en los casos
+ * dudosos
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodeBenchmark {
+
+    @Param({"16", "128", "1024"})
+    public int length;
+
+    @Param({"600", "1200"})
+    public int size;
+
+    @Param({"SQUARE", "HEART"})
+    public EyeShape eyeShape;
+
+    @Param({"false", "true"})
+    public boolean logo;
+
+    private final QrRenderer renderer = new QrRenderer();
+    private QrRenderSpec spec;
+    private BufferedImage image;
+
+    @Setup
+    public void setup() throws Exception {
+        spec = QrBenchFixtures.spec(length, eyeShape, logo, size);
+        image = renderer.render(spec);
+    }
+
+    @Benchmark
+    public boolean decode() {
+        return QrReadService.isQrReadable(image);
+    }
+
+    @Benchmark
+    public QrReadabilityService.Result analytic() {
+        return QrReadabilityService.check(spec, renderer);
+    }
+}
@@ -0,0 +1,50 @@
+package junkier.qrcreator.bench;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.qrcode.encoder.QRCode;
+
+import java.util.concurrent.TimeUnit;
+import junkier.qrcreator.services.QrRenderEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Codificación del contenido en la matriz de módulos, la antigua
+ * createMatrix, según la longitud del contenido
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodeBenchmark {
+
+    @Param({"16", "128", "1024"})
+    public int length;
+
+    private String content;
+
+    @Setup
+    public void setup() {
+        content = QrBenchFixtures.content(length);
+    }
+
+    @Benchmark
+    public QRCode encode() throws WriterException {
+        return QrRenderEngine.encode(content);
+    }
+}
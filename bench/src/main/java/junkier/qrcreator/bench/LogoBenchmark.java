@@ -0,0 +1,63 @@
+package junkier.qrcreator.bench;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.qrcode.encoder.QRCode;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import junkier.qrcreator.services.QrRenderEngine;
+import junkier.qrcreator.services.QrRenderSpec;
+import junkier.qrcreator.services.QrRenderer;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Inserción del logo. Se mide el render de un QR ya codificado con y sin
+ * logo, con la caja del logo ya en su caché, que es el caso normal tras el
+ * primer QR. Cada invocación usa un QrRenderer nuevo, sin rejilla en caché:
+ * sin logo se mide la rejilla de índices y con logo el render ARGB más
+ * insertLogo, que es lo que paga una fila de contenido único
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogoBenchmark {
+
+    @Param({"300", "600", "1200"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean logo;
+
+    private QrRenderSpec spec;
+    private QRCode code;
+
+    @Setup
+    public void setup() throws WriterException {
+        spec = QrBenchFixtures.spec(128, EyeShape.SQUARE, logo, size);
+        code = QrRenderEngine.encode(spec.content());
+    }
+
+    @Benchmark
+    public BufferedImage render() throws IOException {
+        return new QrRenderer().render(spec, code);
+    }
+}
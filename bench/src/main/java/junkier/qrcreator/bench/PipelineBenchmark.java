@@ -0,0 +1,70 @@
+package junkier.qrcreator.bench;
+
+import java.awt.image.BufferedImage;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import junkier.qrcreator.services.QrPngWriter;
+import junkier.qrcreator.services.QrRenderSpec;
+import junkier.qrcreator.services.QrRenderer;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * QR completo como en el modo por lotes: codificar, rasterizar, ojos, logo y
+ * PNG. Cada invocación usa un QrRenderer nuevo, sin caché de renders ni de
+ * rejillas de módulos, así que se codifica y rasteriza siempre, como una
+ * fila de contenido único. Las cachés globales de máscaras de ojos y de logos
+ * están calientes, como tras el primer QR de un lote
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+
+    @Param({"16", "128", "1024"})
+    public int length;
+
+    @Param({"SQUARE", "CIRCLE", "HEART"})
+    public EyeShape eyeShape;
+
+    @Param({"false", "true"})
+    public boolean logo;
+
+    @Param({"300", "600", "1200"})
+    public int size;
+
+    private final OutputStream out = OutputStream.nullOutputStream();
+    private QrRenderSpec spec;
+
+    @Setup
+    public void setup() {
+        spec = QrBenchFixtures.spec(length, eyeShape, logo, size);
+    }
+
+    @Benchmark
+    public BufferedImage render() throws Exception {
+        return new QrRenderer().render(spec);
+    }
+
+    @Benchmark
+    public void renderAndSave() throws Exception {
+        QrPngWriter.write(new QrRenderer().render(spec), spec.dpi(), QrPngWriter.Options.DEFAULT, out);
+    }
+}
@@ -0,0 +1,72 @@
+package junkier.qrcreator.bench;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import junkier.qrcreator.services.QrPngWriter;
+import junkier.qrcreator.services.QrRenderer;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Codificación PNG de saveImage, sin el disco: el escritor con paleta con
+ * sus tres ajustes y ImageIO como referencia
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PngBenchmark {
+
+    @Param({"300", "600", "1200"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean logo;
+
+    private BufferedImage image;
+    private final OutputStream out = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setup() throws Exception {
+        image = new QrRenderer().render(QrBenchFixtures.spec(128, EyeShape.CIRCLE, logo, size));
+    }
+
+    @Benchmark
+    public void fast() throws IOException {
+        QrPngWriter.write(image, 0, QrPngWriter.Options.FAST, out);
+    }
+
+    @Benchmark
+    public void balanced() throws IOException {
+        QrPngWriter.write(image, 0, QrPngWriter.Options.DEFAULT, out);
+    }
+
+    @Benchmark
+    public void small() throws IOException {
+        QrPngWriter.write(image, 0, QrPngWriter.Options.SMALL, out);
+    }
+
+    @Benchmark
+    public boolean imageIo() throws IOException {
+        return ImageIO.write(image, "png", out);
+    }
+}
@@ -0,0 +1,74 @@
+package junkier.qrcreator.bench;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import junkier.qrcreator.services.QrColors;
+import junkier.qrcreator.services.QrLogoSource;
+import junkier.qrcreator.services.QrRenderSpec;
+import junkier.qrcreator.services.QrRenderer;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+
+/**
+ * Datos de entrada comunes a los benchmarks, siempre los mismos para que los
+ * resultados se puedan comparar entre versiones
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.0
+ */
+final class QrBenchFixtures {
+
+    private static final String PREFIX = "https://example.org/";
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789";
+    private static final int LOGO_SIZE = 256;
+
+    private QrBenchFixtures() {
+    }
+
+    /**
+     * URL de la longitud pedida. La longitud decide la versión del QR: 16
+     * caracteres dan la versión 1 o 2, 128 la 6 y 1024 en torno a la 25
+     *
+     * @param length número de caracteres
+     * @return el contenido
+     */
+    static String content(int length) {
+        StringBuilder content = new StringBuilder(length);
+        content.append(PREFIX, 0, Math.min(PREFIX.length(), length));
+        for (int i = 0; content.length() < length; i++) {
+            content.append(ALPHABET.charAt((i * 7) % ALPHABET.length()));
+        }
+        return content.toString();
+    }
+
+    /**
+     * Logo de prueba con degradado y bordes suavizados, con muchos colores
+     * como una foto
+     *
+     * @return el origen del logo
+     */
+    static QrLogoSource logo() {
+        BufferedImage image = new BufferedImage(LOGO_SIZE, LOGO_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setPaint(new GradientPaint(0, 0, new Color(0xD03030), LOGO_SIZE, LOGO_SIZE, new Color(0x3050D0)));
+        g2.fillOval(0, 0, LOGO_SIZE, LOGO_SIZE);
+        g2.dispose();
+        return QrLogoSource.ofImage("bench-logo", image);
+    }
+
+    /**
+     * @param length longitud del contenido
+     * @param shape forma de los ojos
+     * @param logo si lleva logo
+     * @param size lado de la imagen
+     * @return la especificación, negro sobre blanco
+     */
+    static QrRenderSpec spec(int length, EyeShape shape, boolean logo, int size) {
+        return new QrRenderSpec(content(length), QrColors.BLACK, QrColors.WHITE, shape, logo ? logo() : null)
+                .withSize(size, QrRenderer.DEFAULT_MARGIN);
+    }
+}
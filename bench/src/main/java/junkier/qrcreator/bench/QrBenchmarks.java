@@ -0,0 +1,59 @@
+package junkier.qrcreator.bench;
+
+import java.time.LocalDate;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de los benchmarks. Acepta las mismas opciones que JMH
+ * (filtro por nombre, -p, -f, -wi...) y añade siempre el perfil de memoria
+ * (gc.alloc.rate y gc.alloc.rate.norm) y el resultado en JSON, para comparar
+ * entre versiones
+ *
+ * Uso: java -jar QRCreator-bench-1.0-jar-with-dependencies.jar [Raster] [-p size=600]
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.0
+ */
+public class QrBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions command;
+        try {
+            command = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("Opciones no válidas: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        if (command.shouldHelp()) {
+            command.showHelp();
+            return;
+        }
+        if (command.shouldList() || command.shouldListWithParams() || command.shouldListProfilers()
+                || command.shouldListResultFormats()) {
+            // El lanzador de JMH ya sabe listar
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(command);
+        builder.addProfiler(GCProfiler.class);
+        builder.jvmArgsAppend("-Djava.awt.headless=true");
+        if (!command.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!command.getResult().hasValue()) {
+            builder.result("qrcreator-bench-" + LocalDate.now() + ".json");
+        }
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+}
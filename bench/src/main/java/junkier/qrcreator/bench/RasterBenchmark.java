@@ -0,0 +1,106 @@
+package junkier.qrcreator.bench;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.qrcode.encoder.QRCode;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import junkier.qrcreator.services.QrColors;
+import junkier.qrcreator.services.QrEyeLocator;
+import junkier.qrcreator.services.QrModuleRaster;
+import junkier.qrcreator.services.QrRenderEngine;
+import junkier.qrcreator.services.QrRenderEngine.Layout;
+import junkier.qrcreator.services.QrRenderer;
+import junkier.qrcreator.services.QrTransformEyesService;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rasterizado de los módulos en el buffer ARGB y transformación de los ojos
+ * por separado. La transformación se vuelve a aplicar sobre la misma imagen,
+ * que cuesta lo mismo que la primera vez. El recoloreado mide lo que cuesta
+ * un cambio solo de colores sobre una rejilla ya hecha
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RasterBenchmark {
+
+    @Param({"16", "128", "1024"})
+    public int length;
+
+    @Param({"300", "600", "1200"})
+    public int size;
+
+    @Param({"CIRCLE", "STAR", "HEART"})
+    public EyeShape eyeShape;
+
+    private QRCode code;
+    private int[] pixels;
+    private int width;
+    private List<int[]> eyes;
+    private QrModuleRaster grid;
+    private int color;
+
+    @Setup
+    public void setup() throws WriterException {
+        code = QrRenderEngine.encode(QrBenchFixtures.content(length));
+        BufferedImage image = QrRenderEngine.render(code, size, QrRenderer.DEFAULT_MARGIN, EyeShape.SQUARE,
+                QrColors.BLACK, QrColors.WHITE);
+        pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        width = image.getWidth();
+        eyes = QrEyeLocator.locate(Layout.of(code.getMatrix().getWidth(), size, QrRenderer.DEFAULT_MARGIN));
+        grid = QrModuleRaster.of(code, size, QrRenderer.DEFAULT_MARGIN, eyeShape);
+    }
+
+    /**
+     * Solo módulos, con ojos cuadrados
+     */
+    @Benchmark
+    public BufferedImage modules() {
+        return QrRenderEngine.render(code, size, QrRenderer.DEFAULT_MARGIN, EyeShape.SQUARE, QrColors.BLACK,
+                QrColors.WHITE);
+    }
+
+    @Benchmark
+    public int[] eyes() {
+        QrTransformEyesService.transformEyes(pixels, width, eyes, eyeShape, QrColors.WHITE);
+        return pixels;
+    }
+
+    /**
+     * Módulos y ojos, como los pide el renderizador
+     */
+    @Benchmark
+    public BufferedImage modulesAndEyes() {
+        return QrRenderEngine.render(code, size, QrRenderer.DEFAULT_MARGIN, eyeShape, QrColors.BLACK, QrColors.WHITE);
+    }
+
+    /**
+     * Solo cambio de colores: una paleta nueva sobre la misma rejilla
+     */
+    @Benchmark
+    public BufferedImage recolor() {
+        color = (color + 0x010203) & 0xFFFFFF;
+        return grid.image(0xFF000000 | color, QrColors.WHITE);
+    }
+}
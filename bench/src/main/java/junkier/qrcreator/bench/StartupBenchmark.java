@@ -0,0 +1,134 @@
+package junkier.qrcreator.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo de arranque de la aplicación de escritorio, que no se puede medir
+ * con JMH: lanza la aplicación varias veces como proceso nuevo, con
+ * -Dqrcreator.startup=exit, y mide desde el lanzamiento hasta que escribe
+ * que ha mostrado la ventana y que ha pintado el primer preview. Si se le
+ * pasa un archivo CDS repite las mismas tandas con él, para comparar
+ *
+ * Uso: java -cp QRCreator-bench-1.0-jar-with-dependencies.jar
+ * junkier.qrcreator.bench.StartupBenchmark [-n 10] [--archive qrcreator.jsa]
+ * -- java --module-path javafx --add-modules javafx.controls,javafx.fxml -cp
+ * QRCreator-1.0-jar-with-dependencies.jar junkier.qrcreator.app.App
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.0
+ */
+public class StartupBenchmark {
+
+    private static final String MARKER = "qrcreator.startup ";
+    private static final long TIMEOUT_SECONDS = 60;
+
+    /**
+     * Tiempos de un arranque, en ms desde el lanzamiento del proceso
+     *
+     * @param window ventana mostrada
+     * @param frame primer preview publicado
+     */
+    private record Run(double window, double frame) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = 10;
+        String archive = null;
+        int i = 0;
+        while (i < args.length && !args[i].equals("--")) {
+            switch (args[i]) {
+                case "-n" ->
+                    runs = Integer.parseInt(args[++i]);
+                case "--archive" ->
+                    archive = args[++i];
+                default -> {
+                    usage("Opción desconocida: " + args[i]);
+                    return;
+                }
+            }
+            i++;
+        }
+        if (i >= args.length - 1) {
+            usage("Falta el comando de la aplicación después de --");
+            return;
+        }
+        List<String> command = Arrays.asList(args).subList(i + 1, args.length);
+
+        report("sin archivo CDS", measure(command, null, runs));
+        if (archive != null) {
+            report("con " + archive, measure(command, "-XX:SharedArchiveFile=" + archive, runs));
+        }
+    }
+
+    private static List<Run> measure(List<String> command, String option, int runs)
+            throws IOException, InterruptedException {
+        List<String> launch = new ArrayList<>();
+        launch.add(command.getFirst());
+        launch.add("-Dqrcreator.startup=exit");
+        if (option != null) {
+            launch.add(option);
+        }
+        launch.addAll(command.subList(1, command.size()));
+
+        // La primera vuelta calienta la caché de disco y no cuenta
+        run(launch);
+        List<Run> results = new ArrayList<>();
+        for (int r = 0; r < runs; r++) {
+            results.add(run(launch));
+        }
+        return results;
+    }
+
+    private static Run run(List<String> launch) throws IOException, InterruptedException {
+        ProcessBuilder builder = new ProcessBuilder(launch).redirectErrorStream(true);
+        long start = System.nanoTime();
+        Process process = builder.start();
+        double window = -1;
+        double frame = -1;
+        try (BufferedReader out = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                double elapsed = (System.nanoTime() - start) / 1e6;
+                if (line.startsWith(MARKER + "window")) {
+                    window = elapsed;
+                } else if (line.startsWith(MARKER + "frame")) {
+                    frame = elapsed;
+                }
+            }
+        }
+        if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("La aplicación no se cerró tras el primer preview");
+        }
+        if (window < 0 || frame < 0) {
+            throw new IllegalStateException("La aplicación terminó sin marcar el arranque (código "
+                    + process.exitValue() + ")");
+        }
+        return new Run(window, frame);
+    }
+
+    private static void report(String label, List<Run> results) {
+        double[] window = results.stream().mapToDouble(Run::window).sorted().toArray();
+        double[] frame = results.stream().mapToDouble(Run::frame).sorted().toArray();
+        System.out.println(String.format(Locale.ROOT,
+                "%s (%d arranques)%n  ventana:        mediana %.0f ms, mínimo %.0f ms%n"
+                + "  primer preview: mediana %.0f ms, mínimo %.0f ms",
+                label, results.size(), window[window.length / 2], window[0], frame[frame.length / 2], frame[0]));
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("Uso: StartupBenchmark [-n arranques] [--archive qrcreator.jsa] -- java ... App");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,280 @@
+package junkier.qrcreator.batch;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import junkier.qrcreator.services.QrMetrics;
+
+/**
+ * Destino de un único archivo ZIP o TAR escrito en streaming. Los hilos de
+ * render dejan los ficheros en una cola acotada y un solo hilo los escribe
+ * en orden de llegada: nada pasa por disco y los PNG pendientes nunca son
+ * más que la capacidad de la cola, porque cuando está llena los hilos de
+ * render esperan
+ *
+ * Lo que sí crece con el lote es el conjunto de nombres ya escritos, que
+ * hace falta para rechazar repetidos: unos 100 bytes por fichero con
+ * nombres cortos, unos 100 MB por millón de filas. Lotes más grandes hay
+ * que repartirlos en varios archivos o darle más memoria a la JVM
+ *
+ * Los PNG ya van comprimidos, así que en el ZIP se guardan sin volver a
+ * comprimir (STORED)
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.3
+ */
+public class QrArchiveSink implements QrBatchSink {
+
+    /**
+     * Formato del archivo
+     */
+    public enum Format {
+        ZIP, TAR
+    }
+
+    /**
+     * Ficheros que pueden esperar en la cola
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final Entry END = new Entry(null, null);
+
+    private record Entry(String name, byte[] data) {
+
+    }
+
+    private final OutputStream out;
+    private final Format format;
+    private final BlockingQueue<Entry> queue;
+    // Crece con el lote, ver la documentación de la clase
+    private final Set<String> names = ConcurrentHashMap.newKeySet();
+    private final Thread writer;
+    private volatile IOException failure;
+    private boolean closed;
+
+    /**
+     * @param out destino del archivo, se cierra al cerrar el destino
+     * @param format ZIP o TAR
+     * @param capacity ficheros que pueden esperar en la cola
+     */
+    public QrArchiveSink(OutputStream out, Format format, int capacity) {
+        this.out = out;
+        this.format = format;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::drain, "qr-batch-writer");
+        this.writer.start();
+    }
+
+    /**
+     * Los nombres repetidos se rechazan aquí, porque en el archivo no se
+     * pueden sobrescribir
+     */
+    @Override
+    public void reserve(String name) throws IOException {
+        if (format == Format.TAR) {
+            TarEntries.check(name);
+        }
+        if (!names.add(name)) {
+            throw new IOException("Fichero repetido en el archivo: " + name);
+        }
+    }
+
+    /**
+     * Poner el fichero en la cola del escritor
+     */
+    @Override
+    public void write(String name, byte[] data) throws IOException, InterruptedException {
+        IOException failed = failure;
+        if (failed != null) {
+            throw new IOException("El archivo de salida ha fallado", failed);
+        }
+        queue.put(new Entry(name, data));
+    }
+
+    /**
+     * Esperar a que el escritor vacíe la cola, cerrar el archivo y cerrar el
+     * flujo
+     *
+     * @throws IOException Error al escribir el archivo
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            writer.interrupt();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrumpido al cerrar el archivo", e);
+        } finally {
+            out.close();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Bucle del hilo escritor. Si falla, sigue sacando de la cola sin
+     * escribir para que los hilos de render no se queden bloqueados
+     */
+    private void drain() {
+        ZipOutputStream zip = format == Format.ZIP ? new ZipOutputStream(out, StandardCharsets.UTF_8) : null;
+        TarEntries tar = format == Format.TAR ? new TarEntries(out) : null;
+        try {
+            while (true) {
+                Entry entry = queue.take();
+                if (entry == END) {
+                    break;
+                }
+                if (failure != null) {
+                    continue;
+                }
+                try {
+                    long start = QrMetrics.start();
+                    if (zip != null) {
+                        zip(zip, entry);
+                    } else {
+                        tar.write(entry.name(), entry.data());
+                    }
+                    QrMetrics.stop(QrMetrics.Stage.WRITE, start);
+                    QrMetrics.count(QrMetrics.Counter.SAVED, 1);
+                    QrMetrics.count(QrMetrics.Counter.BYTES_WRITTEN, entry.data().length);
+                } catch (IOException e) {
+                    failure = e;
+                } catch (RuntimeException e) {
+                    failure = new IOException(e);
+                }
+            }
+            if (failure == null) {
+                if (zip != null) {
+                    zip.finish();
+                } else {
+                    tar.finish();
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            failure = new IOException("Escritor interrumpido", e);
+        }
+    }
+
+    private static void zip(ZipOutputStream zip, Entry entry) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(entry.data());
+        ZipEntry zipEntry = new ZipEntry(entry.name());
+        zipEntry.setMethod(ZipEntry.STORED);
+        zipEntry.setSize(entry.data().length);
+        zipEntry.setCompressedSize(entry.data().length);
+        zipEntry.setCrc(crc.getValue());
+        zip.putNextEntry(zipEntry);
+        zip.write(entry.data());
+        zip.closeEntry();
+    }
+
+    /**
+     * Escritor TAR en formato ustar. Los nombres de más de 100 bytes van en
+     * una entrada ././@LongLink de GNU, que leen tar, bsdtar y 7-Zip
+     */
+    private static final class TarEntries {
+
+        private static final int BLOCK = 512;
+        private static final int NAME_LENGTH = 100;
+        private static final String LONG_LINK = "././@LongLink";
+
+        private final OutputStream out;
+        private final byte[] header = new byte[BLOCK];
+        private final long mtime = System.currentTimeMillis() / 1000;
+
+        TarEntries(OutputStream out) {
+            this.out = out;
+        }
+
+        static void check(String name) throws IOException {
+            if (name.isEmpty() || name.indexOf('\0') >= 0) {
+                throw new IOException("Nombre no válido en el TAR: " + name);
+            }
+        }
+
+        void write(String name, byte[] data) throws IOException {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > NAME_LENGTH) {
+                byte[] longName = Arrays.copyOf(bytes, bytes.length + 1);
+                header(LONG_LINK.getBytes(StandardCharsets.US_ASCII), longName.length, 'L');
+                body(longName);
+                bytes = Arrays.copyOf(bytes, NAME_LENGTH);
+            }
+            header(bytes, data.length, '0');
+            body(data);
+        }
+
+        void finish() throws IOException {
+            Arrays.fill(header, (byte) 0);
+            out.write(header);
+            out.write(header);
+        }
+
+        private void header(byte[] name, long size, char type) throws IOException {
+            Arrays.fill(header, (byte) 0);
+            System.arraycopy(name, 0, header, 0, Math.min(name.length, NAME_LENGTH));
+            octal(100, 8, 0644);
+            octal(108, 8, 0);
+            octal(116, 8, 0);
+            octal(124, 12, size);
+            octal(136, 12, mtime);
+            header[156] = (byte) type;
+            System.arraycopy("ustar\0".getBytes(StandardCharsets.US_ASCII), 0, header, 257, 6);
+            header[263] = '0';
+            header[264] = '0';
+
+            // La suma se calcula con su propio campo lleno de espacios
+            Arrays.fill(header, 148, 156, (byte) ' ');
+            long checksum = 0;
+            for (byte b : header) {
+                checksum += b & 0xFF;
+            }
+            octal(148, 7, checksum);
+            header[155] = ' ';
+            out.write(header);
+        }
+
+        private void body(byte[] data) throws IOException {
+            out.write(data);
+            int padding = (BLOCK - data.length % BLOCK) % BLOCK;
+            if (padding > 0) {
+                out.write(new byte[padding]);
+            }
+        }
+
+        /**
+         * Número en octal con ceros a la izquierda, terminado en NUL
+         */
+        private void octal(int offset, int length, long value) throws IOException {
+            String digits = Long.toOctalString(value);
+            if (digits.length() > length - 1) {
+                throw new IOException("Valor demasiado grande para el TAR: " + value);
+            }
+            int start = offset + length - 1 - digits.length();
+            Arrays.fill(header, offset, start, (byte) '0');
+            for (int i = 0; i < digits.length(); i++) {
+                header[start + i] = (byte) digits.charAt(i);
+            }
+            header[offset + length - 1] = 0;
+        }
+    }
+}
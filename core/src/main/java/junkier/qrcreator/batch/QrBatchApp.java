@@ -0,0 +1,65 @@
+package junkier.qrcreator.batch;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import junkier.qrcreator.services.QrMetrics;
+import junkier.qrcreator.services.QrPngWriter;
+
+/**
+ * Punto de entrada del modo por lotes, sin interfaz ni toolkit de JavaFX
+ *
+ * Uso: java -cp QRCreator-core-1.0-jar-with-dependencies.jar
+ * junkier.qrcreator.batch.QrBatchApp entrada.csv|entrada.jsonl [carpeta|salida.zip|salida.tar] [hilos] [--fast|--small] [--metrics] [--segments]
+ *
+ * Con .zip o .tar todos los QR van a un único archivo escrito en streaming,
+ * sin ficheros intermedios
+ *
+ * --fast comprime los PNG lo mínimo, para lotes grandes; --small los deja lo
+ * más pequeños posible; --metrics muestra al final el tiempo de cada etapa;
+ * --segments escribe por cada QR la versión y los modos de codificación
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.5
+ */
+public class QrBatchApp {
+
+    public static void main(String[] args) throws Exception {
+        List<String> positional = new ArrayList<>();
+        QrPngWriter.Options png = QrPngWriter.Options.DEFAULT;
+        boolean segments = false;
+        for (String arg : args) {
+            if (arg.equals("--fast")) {
+                png = QrPngWriter.Options.FAST;
+            } else if (arg.equals("--small")) {
+                png = QrPngWriter.Options.SMALL;
+            } else if (arg.equals("--metrics")) {
+                QrMetrics.setEnabled(true);
+            } else if (arg.equals("--segments")) {
+                segments = true;
+            } else {
+                positional.add(arg);
+            }
+        }
+        if (positional.isEmpty()) {
+            System.err.println("Uso: QrBatchApp entrada.csv|entrada.jsonl [carpeta|salida.zip|salida.tar] [hilos] [--fast|--small] [--metrics] [--segments]");
+            System.exit(2);
+        }
+        System.setProperty("java.awt.headless", "true");
+
+        Path input = Path.of(positional.get(0));
+        Path output = Path.of(positional.size() > 1 ? positional.get(1) : "qr-output");
+        int threads = positional.size() > 2 ? Integer.parseInt(positional.get(2)) : Runtime.getRuntime().availableProcessors();
+
+        QrBatchGenerator.Summary summary;
+        try (QrBatchSink sink = QrBatchSink.of(output); QrBatchReader reader = QrBatchReader.open(input)) {
+            summary = new QrBatchGenerator(sink, threads, System.err, png, segments).run(reader);
+        }
+        System.out.println(summary);
+        if (QrMetrics.isEnabled()) {
+            System.err.print(QrMetrics.text());
+        }
+        System.exit(summary.failed() == 0 ? 0 : 1);
+    }
+}
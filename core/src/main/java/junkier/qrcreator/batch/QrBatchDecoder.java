@@ -0,0 +1,296 @@
+package junkier.qrcreator.batch;
+
+import com.google.zxing.MultiFormatReader;
+import com.google.zxing.NotFoundException;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import javax.imageio.ImageIO;
+
+import junkier.qrcreator.services.QrMetrics;
+import junkier.qrcreator.services.QrReadService;
+
+/**
+ * Lector de QR por lotes. Recorre una carpeta (con subcarpetas) o un ZIP y
+ * decodifica las imágenes en paralelo, con un lector de ZXing ya configurado
+ * por hilo y la misma cola acotada que el generador. Cada resultado se
+ * escribe en cuanto está listo, en CSV o en líneas JSON, con el nivel de la
+ * pirámide de lectura que lo ha leído
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.3
+ */
+public class QrBatchDecoder {
+
+    private static final int QUEUE_PER_THREAD = 4;
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of("png", "jpg", "jpeg", "gif", "bmp", "wbmp");
+
+    /**
+     * Formato del informe de resultados
+     */
+    public enum Format {
+        CSV, JSON;
+
+        /**
+         * @param path fichero de salida
+         * @return JSON para .jsonl/.ndjson/.json, CSV en otro caso
+         */
+        public static Format of(Path path) {
+            String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+            return name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json") ? JSON : CSV;
+        }
+    }
+
+    /**
+     * Resultado de una imagen
+     *
+     * @param name ruta relativa o entrada del ZIP
+     * @param content contenido del QR, o null si no se ha leído
+     * @param width ancho de la imagen, 0 si no se ha podido abrir
+     * @param height alto de la imagen
+     * @param readNanos tiempo de lectura y decodificación de la imagen
+     * @param decodeNanos tiempo de ZXing
+     * @param level nivel de la pirámide que lo ha leído (1/4, 1/2, full,
+     * full-roi), o null
+     * @param error motivo del fallo, o null
+     */
+    public record Decoded(String name, String content, int width, int height, long readNanos, long decodeNanos,
+            String level, String error) {
+
+        public boolean ok() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Resumen de la ejecución
+     *
+     * @param files imágenes procesadas
+     * @param decoded imágenes con un QR leído
+     * @param failed imágenes sin QR o con error
+     * @param decodeNanos suma de los tiempos de ZXing
+     * @param elapsedNanos duración total
+     */
+    public record Summary(long files, long decoded, long failed, long decodeNanos, long elapsedNanos) {
+
+        /**
+         * @return imágenes procesadas por segundo
+         */
+        public double throughput() {
+            return elapsedNanos == 0 ? 0 : files * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        /**
+         * @return fracción de imágenes sin leer, entre 0 y 1
+         */
+        public double failureRate() {
+            return files == 0 ? 0 : (double) failed / files;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "Imágenes: %d, leídas: %d, fallidas: %d (%.1f %%), tiempo: %.2f s, %.1f img/s, %.1f ms de media en ZXing",
+                    files, decoded, failed, failureRate() * 100, elapsedNanos / 1e9, throughput(),
+                    files == 0 ? 0 : decodeNanos / 1e6 / files);
+        }
+    }
+
+    private final int threads;
+    private final PrintStream out;
+    private final Format format;
+    private final ThreadLocal<MultiFormatReader> readers;
+
+    private final LongAdder decoded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder decodeNanos = new LongAdder();
+
+    /**
+     * @param threads hilos de lectura, normalmente uno por núcleo
+     * @param out salida donde se escribe un resultado por imagen
+     * @param format formato de la salida
+     * @param tryHarder si ZXing busca más a fondo, más lento
+     */
+    public QrBatchDecoder(int threads, PrintStream out, Format format, boolean tryHarder) {
+        this.threads = threads;
+        this.out = out;
+        this.format = format;
+        this.readers = ThreadLocal.withInitial(() -> QrReadService.newReader(tryHarder));
+    }
+
+    /**
+     * Decodifica todas las imágenes de una carpeta o de un ZIP
+     *
+     * @param input carpeta o fichero .zip
+     * @return resumen de la ejecución
+     * @throws IOException Error al recorrer la entrada
+     * @throws InterruptedException Si se interrumpe la espera de los hilos
+     */
+    public Summary run(Path input) throws IOException, InterruptedException {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * QUEUE_PER_THREAD),
+                runnable -> new Thread(runnable, "qr-decode-" + counter.incrementAndGet()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        if (format == Format.CSV) {
+            out.println("file,ok,content,width,height,read_ms,decode_ms,level,error");
+        }
+        long start = System.nanoTime();
+        long files = 0;
+        try {
+            if (Files.isDirectory(input)) {
+                try (Stream<Path> paths = Files.walk(input)) {
+                    Iterator<Path> it = paths.filter(Files::isRegularFile)
+                            .filter(path -> isImage(path.getFileName().toString())).iterator();
+                    while (it.hasNext()) {
+                        Path path = it.next();
+                        String name = input.relativize(path).toString();
+                        files++;
+                        pool.execute(() -> process(name, () -> Files.newInputStream(path)));
+                    }
+                }
+            } else {
+                try (ZipFile zip = new ZipFile(input.toFile())) {
+                    Enumeration<? extends ZipEntry> entries = zip.entries();
+                    while (entries.hasMoreElements()) {
+                        ZipEntry entry = entries.nextElement();
+                        if (entry.isDirectory() || !isImage(entry.getName())) {
+                            continue;
+                        }
+                        files++;
+                        pool.execute(() -> process(entry.getName(), () -> zip.getInputStream(entry)));
+                    }
+                    pool.shutdown();
+                    pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                }
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        out.flush();
+        return new Summary(files, decoded.sum(), failed.sum(), decodeNanos.sum(), System.nanoTime() - start);
+    }
+
+    /**
+     * Origen de los bytes de una imagen, que se abre ya en el hilo lector
+     */
+    @FunctionalInterface
+    private interface ImageStream {
+
+        InputStream open() throws IOException;
+    }
+
+    private void process(String name, ImageStream stream) {
+        long start = System.nanoTime();
+        long load = QrMetrics.start();
+        BufferedImage image;
+        try (InputStream in = stream.open()) {
+            image = ImageIO.read(in);
+        } catch (IOException e) {
+            QrMetrics.error("decode", e);
+            report(new Decoded(name, null, 0, 0, System.nanoTime() - start, 0, null, "No se puede leer: " + e.getMessage()));
+            return;
+        } catch (RuntimeException e) {
+            // Los lectores de ImageIO lanzan excepciones sin comprobar con
+            // ficheros corruptos; con CallerRunsPolicy llegarían al recorrido
+            QrMetrics.error("decode", e);
+            report(new Decoded(name, null, 0, 0, System.nanoTime() - start, 0, null,
+                    "Imagen corrupta: " + e.getClass().getSimpleName()));
+            return;
+        }
+        QrMetrics.stop(QrMetrics.Stage.LOAD, load);
+        if (image == null) {
+            report(new Decoded(name, null, 0, 0, System.nanoTime() - start, 0, null, "Formato no soportado"));
+            return;
+        }
+
+        long decodeStart = System.nanoTime();
+        String content = null;
+        String level = null;
+        String error = null;
+        try {
+            QrReadService.PyramidResult result = QrReadService.decodePyramid(readers.get(), image);
+            content = result.result().getText();
+            level = levelName(result);
+        } catch (NotFoundException e) {
+            QrMetrics.error("decode", e);
+            error = "QR no encontrado";
+        } catch (RuntimeException e) {
+            QrMetrics.error("decode", e);
+            error = e.getClass().getSimpleName();
+        }
+        long end = System.nanoTime();
+        decodeNanos.add(end - decodeStart);
+        report(new Decoded(name, content, image.getWidth(), image.getHeight(), end - start, end - decodeStart, level, error));
+    }
+
+    private void report(Decoded result) {
+        if (result.ok()) {
+            decoded.increment();
+        } else {
+            failed.increment();
+        }
+        String line = format == Format.JSON ? toJson(result) : toCsv(result);
+        synchronized (out) {
+            out.println(line);
+        }
+    }
+
+    private static String toJson(Decoded result) {
+        return String.format(Locale.ROOT,
+                "{\"file\":%s,\"ok\":%b,\"content\":%s,\"width\":%d,\"height\":%d,\"read_ms\":%.3f,\"decode_ms\":%.3f,\"level\":%s,\"error\":%s}",
+                FlatJson.quote(result.name()), result.ok(), FlatJson.quote(result.content()),
+                result.width(), result.height(), result.readNanos() / 1e6, result.decodeNanos() / 1e6,
+                FlatJson.quote(result.level()), FlatJson.quote(result.error()));
+    }
+
+    private static String toCsv(Decoded result) {
+        return String.format(Locale.ROOT, "%s,%b,%s,%d,%d,%.3f,%.3f,%s,%s",
+                csv(result.name()), result.ok(), csv(result.content()),
+                result.width(), result.height(), result.readNanos() / 1e6, result.decodeNanos() / 1e6,
+                csv(result.level()), csv(result.error()));
+    }
+
+    private static String levelName(QrReadService.PyramidResult result) {
+        String name = switch (result.level()) {
+            case QUARTER -> "1/4";
+            case HALF -> "1/2";
+            case FULL -> "full";
+        };
+        return result.cropped() ? name + "-roi" : name;
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static boolean isImage(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && IMAGE_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+}
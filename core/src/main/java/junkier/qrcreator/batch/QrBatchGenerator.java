@@ -0,0 +1,202 @@
+package junkier.qrcreator.batch;
+
+import com.google.zxing.qrcode.encoder.QRCode;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import junkier.qrcreator.batch.QrBatchReader.MalformedRowException;
+import junkier.qrcreator.services.QrMetrics;
+import junkier.qrcreator.services.QrPngWriter;
+import junkier.qrcreator.services.QrRenderSpec;
+import junkier.qrcreator.services.QrRenderer;
+import junkier.qrcreator.services.QrSegments;
+
+/**
+ * Generador por lotes. Lee las filas en streaming y las renderiza en paralelo
+ * con una cola acotada: cuando la cola se llena, el hilo lector renderiza la
+ * fila él mismo, de modo que nunca hay más de unas pocas filas en memoria.
+ * Cada PNG se codifica en memoria y se entrega al {@link QrBatchSink}
+ *
+ * Las filas se interpretan y sus nombres se reservan en el hilo lector, en
+ * orden, así que con nombres repetidos siempre gana la primera fila
+ *
+ * Con el informe de segmentos activo escribe, por cada QR, la versión y los
+ * modos que ha elegido el codificador ({@link QrSegments})
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.7
+ */
+public class QrBatchGenerator {
+
+    private static final int QUEUE_PER_THREAD = 4;
+    private static final int PNG_BUFFER = 8 * 1024;
+
+    /**
+     * Resumen de la ejecución
+     *
+     * @param rows filas leídas
+     * @param generated QR generados correctamente
+     * @param failed filas con error
+     * @param elapsedNanos duración total
+     */
+    public record Summary(long rows, long generated, long failed, long elapsedNanos) {
+
+        /**
+         * @return QR generados por segundo
+         */
+        public double throughput() {
+            return elapsedNanos == 0 ? 0 : generated * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Filas: %d, generados: %d, errores: %d, tiempo: %.2f s, %.1f QR/s",
+                    rows, generated, failed, elapsedNanos / 1e9, throughput());
+        }
+    }
+
+    private final QrBatchSink sink;
+    private final int threads;
+    private final PrintStream report;
+    private final QrPngWriter.Options png;
+    private final boolean segments;
+
+    private final QrRenderer renderer = new QrRenderer();
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * @param sink destino de los QR: carpeta, ZIP o TAR. No se cierra al
+     * terminar
+     * @param threads hilos de render, normalmente uno por núcleo
+     * @param report salida donde se informa de los errores por fila
+     */
+    public QrBatchGenerator(QrBatchSink sink, int threads, PrintStream report) {
+        this(sink, threads, report, QrPngWriter.Options.DEFAULT);
+    }
+
+    /**
+     * @param sink destino de los QR: carpeta, ZIP o TAR. No se cierra al
+     * terminar
+     * @param threads hilos de render, normalmente uno por núcleo
+     * @param report salida donde se informa de los errores por fila
+     * @param png compresión de los PNG, más rápida o más pequeña
+     */
+    public QrBatchGenerator(QrBatchSink sink, int threads, PrintStream report, QrPngWriter.Options png) {
+        this(sink, threads, report, png, false);
+    }
+
+    /**
+     * @param sink destino de los QR: carpeta, ZIP o TAR. No se cierra al
+     * terminar
+     * @param threads hilos de render, normalmente uno por núcleo
+     * @param report salida donde se informa de los errores por fila
+     * @param png compresión de los PNG, más rápida o más pequeña
+     * @param segments si se escribe en el informe la versión y los segmentos
+     * de cada QR
+     */
+    public QrBatchGenerator(QrBatchSink sink, int threads, PrintStream report, QrPngWriter.Options png,
+            boolean segments) {
+        this.sink = sink;
+        this.threads = threads;
+        this.report = report;
+        this.png = png;
+        this.segments = segments;
+    }
+
+    /**
+     * Genera todas las filas del lector
+     *
+     * @param reader lector de la entrada
+     * @return resumen de la ejecución
+     * @throws IOException Error al leer la entrada
+     * @throws InterruptedException Si se interrumpe la espera de los hilos
+     */
+    public Summary run(QrBatchReader reader) throws IOException, InterruptedException {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * QUEUE_PER_THREAD),
+                runnable -> new Thread(runnable, "qr-batch-" + counter.incrementAndGet()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        long start = System.nanoTime();
+        long rows = 0;
+        try {
+            while (true) {
+                Map<String, String> fields;
+                try {
+                    fields = reader.next();
+                } catch (MalformedRowException e) {
+                    rows++;
+                    fail(reader.getLine(), e.getMessage());
+                    continue;
+                }
+                if (fields == null) {
+                    break;
+                }
+                rows++;
+                long line = reader.getLine();
+                QrBatchRow row;
+                try {
+                    row = QrBatchRow.of(line, fields);
+                    sink.reserve(row.filename() + ".png");
+                } catch (IOException | RuntimeException e) {
+                    fail(line, e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+                    continue;
+                }
+                pool.execute(() -> process(row));
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        return new Summary(rows, generated.sum(), failed.sum(), System.nanoTime() - start);
+    }
+
+    private void process(QrBatchRow row) {
+        long line = row.line();
+        try {
+            QrRenderSpec spec = row.toSpec();
+            BufferedImage qr;
+            if (segments) {
+                // El informe sale del mismo símbolo que se pinta
+                QRCode code = renderer.encode(spec.content());
+                qr = renderer.render(spec, code);
+                print("línea " + line + " " + row.filename() + ".png: " + QrSegments.describe(code));
+            } else {
+                qr = renderer.render(spec);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(PNG_BUFFER);
+            QrPngWriter.write(qr, spec.dpi(), png, out);
+            sink.write(row.filename() + ".png", out.toByteArray());
+            generated.increment();
+        } catch (Throwable e) {
+            // También los Error (falta de memoria con una fila enorme): sin
+            // esto matarían al hilo sin contar la fila, o con CallerRunsPolicy
+            // cortarían la lectura
+            QrMetrics.error("generate", e);
+            fail(line, e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+        }
+    }
+
+    private void fail(long line, String message) {
+        failed.increment();
+        print("ERROR línea " + line + ": " + message);
+    }
+
+    private void print(String message) {
+        synchronized (report) {
+            report.println(message);
+        }
+    }
+}
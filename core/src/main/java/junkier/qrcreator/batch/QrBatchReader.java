@@ -0,0 +1,212 @@
+package junkier.qrcreator.batch;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lector en streaming de las filas del lote. Admite CSV con cabecera
+ * (content,filename,front,back,eye,logo) o JSON lines con un objeto plano por
+ * línea y las mismas claves. Lee fila a fila, sin cargar el fichero en memoria
+ *
+ * En CSV un campo entre comillas puede ocupar varias líneas (vCard, WiFi); la
+ * fila se numera por su primera línea
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.2
+ */
+public abstract class QrBatchReader implements Closeable {
+
+    /**
+     * Fila que no se puede interpretar. Solo afecta a esa fila, el lector
+     * sigue en la siguiente línea
+     */
+    public static class MalformedRowException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        public MalformedRowException(String message) {
+            super(message);
+        }
+    }
+
+    protected final BufferedReader reader;
+    protected long line;
+
+    protected QrBatchReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Abre el fichero eligiendo el formato por la extensión (.csv o
+     * .jsonl/.ndjson/.json)
+     *
+     * @param input fichero de entrada
+     * @return el lector adecuado
+     * @throws IOException Error al abrir el fichero
+     */
+    public static QrBatchReader open(Path input) throws IOException {
+        String name = input.getFileName().toString().toLowerCase(Locale.ROOT);
+        BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+        if (name.endsWith(".csv")) {
+            return new Csv(reader);
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")) {
+            return new JsonLines(reader);
+        }
+        reader.close();
+        throw new IOException("Formato de entrada no soportado: " + input);
+    }
+
+    /**
+     * Lee la siguiente fila
+     *
+     * @return campos de la fila por nombre, o null al final del fichero
+     * @throws MalformedRowException Fila mal formada, se puede seguir leyendo
+     * @throws IOException Error de lectura
+     */
+    public abstract Map<String, String> next() throws IOException;
+
+    /**
+     * @return número de línea de la última fila leída
+     */
+    public long getLine() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Lee la siguiente línea no vacía
+     *
+     * @return la línea, o null al final del fichero
+     * @throws IOException Error de lectura
+     */
+    protected String nextLine() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+        } while (text != null && text.isBlank());
+        return text;
+    }
+
+    private static final class Csv extends QrBatchReader {
+
+        private List<String> header;
+        // Líneas de continuación de la fila anterior, que se suman al empezar
+        // la siguiente para que getLine() devuelva la primera de cada fila
+        private long continued;
+
+        private Csv(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            line += continued;
+            continued = 0;
+            if (header == null) {
+                String first = nextLine();
+                if (first == null) {
+                    return null;
+                }
+                if (first.startsWith("\uFEFF")) {
+                    first = first.substring(1);
+                }
+                header = new ArrayList<>();
+                for (String column : split(first)) {
+                    header.add(column.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+            String text = nextLine();
+            if (text == null) {
+                return null;
+            }
+            List<String> values = split(text);
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < header.size() && i < values.size(); i++) {
+                fields.put(header.get(i), values.get(i));
+            }
+            return fields;
+        }
+
+        /**
+         * Separa una fila CSV respetando las comillas dobles. Si al acabar la
+         * línea sigue abierta una comilla, el campo continúa en la siguiente
+         *
+         * @throws MalformedRowException Comilla sin cerrar al final del
+         * fichero
+         */
+        private List<String> split(String text) throws IOException {
+            List<String> values = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                for (int i = 0; i < text.length(); i++) {
+                    char c = text.charAt(i);
+                    if (quoted) {
+                        if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                            current.append('"');
+                            i++;
+                        } else if (c == '"') {
+                            quoted = false;
+                        } else {
+                            current.append(c);
+                        }
+                    } else if (c == '"') {
+                        quoted = true;
+                    } else if (c == ',') {
+                        values.add(current.toString());
+                        current.setLength(0);
+                    } else {
+                        current.append(c);
+                    }
+                }
+                if (!quoted) {
+                    break;
+                }
+                text = reader.readLine();
+                if (text == null) {
+                    throw new MalformedRowException("Comilla sin cerrar al final del fichero");
+                }
+                continued++;
+                current.append('\n');
+            }
+            values.add(current.toString());
+            return values;
+        }
+    }
+
+    private static final class JsonLines extends QrBatchReader {
+
+        private JsonLines(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            String text = nextLine();
+            if (text == null) {
+                return null;
+            }
+            try {
+                return FlatJson.parse(text);
+            } catch (IllegalArgumentException e) {
+                throw new MalformedRowException("JSON no válido: " + e.getMessage());
+            }
+        }
+    }
+}
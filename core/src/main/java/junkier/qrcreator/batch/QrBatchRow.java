@@ -0,0 +1,82 @@
+package junkier.qrcreator.batch;
+
+import java.util.Map;
+import junkier.qrcreator.services.QrColors;
+import junkier.qrcreator.services.QrGeneratorService;
+import junkier.qrcreator.services.QrRenderSpec;
+import junkier.qrcreator.services.QrRenderer;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+
+/**
+ * Fila del lote ya interpretada
+ *
+ * @param line línea del fichero de entrada
+ * @param content Datos del QR
+ * @param filename nombre del fichero de salida, sin extensión
+ * @param front color ARGB de los datos de la matriz
+ * @param back color ARGB del fondo del QR
+ * @param eyeshape Forma de las esquinas del QR
+ * @param logoPath Imagen central, o null si no hay
+ * @param size lado de la imagen en pixeles
+ * @param margin zona de silencio en módulos
+ * @param dpi resolución que se guarda en el PNG, 0 para no guardarla
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.1
+ */
+public record QrBatchRow(long line, String content, String filename, int front, int back,
+        EyeShape eyeshape, String logoPath, int size, int margin, int dpi) {
+
+    private static final String INVALID_FILENAME_CHARS = "[\\\\/:*?\"<>|]";
+
+    /**
+     * Interpreta los campos leídos de la entrada. Sin nombre se usa el número
+     * de línea; sin colores, negro sobre blanco; sin forma, cuadrado; sin
+     * tamaño, zona de silencio ni resolución, los valores por defecto
+     *
+     * @param line línea del fichero de entrada
+     * @param fields campos por nombre
+     * @return la fila
+     * @throws IllegalArgumentException si falta el contenido o algún campo no es válido
+     */
+    public static QrBatchRow of(long line, Map<String, String> fields) {
+        String content = fields.get("content");
+        if (content == null || content.isEmpty()) {
+            throw new IllegalArgumentException("Falta el contenido del QR");
+        }
+        String filename = fields.getOrDefault("filename", "").trim();
+        if (filename.isEmpty()) {
+            filename = "qr-" + line;
+        }
+        filename = filename.replaceAll(INVALID_FILENAME_CHARS, "_");
+
+        int front = QrColors.parse(fields.get("front"), QrColors.BLACK);
+        int back = QrColors.parse(fields.get("back"), QrColors.WHITE);
+
+        String eye = fields.get("eye");
+        EyeShape eyeshape = eye == null || eye.isBlank() ? EyeShape.SQUARE : EyeShape.fromName(eye);
+
+        String logo = fields.get("logo");
+        String logoPath = logo == null || logo.isBlank() ? null : logo.trim();
+
+        int size = number(fields.get("size"), QrRenderer.DEFAULT_SIZE);
+        int margin = number(fields.get("margin"), QrRenderer.DEFAULT_MARGIN);
+        int dpi = number(fields.get("dpi"), 0);
+
+        return new QrBatchRow(line, content, filename, front, back, eyeshape, logoPath, size, margin, dpi);
+    }
+
+    private static int number(String value, int fallback) {
+        return value == null || value.isBlank() ? fallback : Integer.parseInt(value.trim());
+    }
+
+    /**
+     * @return la especificación de render de la fila
+     */
+    public QrRenderSpec toSpec() {
+        return QrGeneratorService.buildSpec(content, logoPath, front, back, eyeshape)
+                .withSize(size, margin)
+                .withDpi(dpi);
+    }
+}
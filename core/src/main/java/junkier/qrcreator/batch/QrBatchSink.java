@@ -0,0 +1,78 @@
+package junkier.qrcreator.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Destino de los ficheros del generador por lotes: una carpeta, un ZIP o un
+ * TAR. Cada nombre se reserva antes con {@link #reserve} en el orden de las
+ * filas; después los hilos de render llaman a {@link #write} a la vez, y al
+ * cerrar se termina de escribir todo lo pendiente
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.1
+ */
+public interface QrBatchSink extends Closeable {
+
+    /**
+     * Reservar el nombre de un fichero antes de renderizarlo. El generador lo
+     * llama desde el hilo lector en el orden de las filas, así que con
+     * nombres repetidos gana siempre la primera fila, termine antes el hilo
+     * que termine
+     *
+     * @param name nombre del fichero, sin carpetas
+     * @throws IOException Si el nombre ya está reservado o no vale en el
+     * destino
+     */
+    void reserve(String name) throws IOException;
+
+    /**
+     * Guardar un fichero
+     *
+     * @param name nombre del fichero ya reservado, sin carpetas
+     * @param data contenido completo
+     * @throws IOException Error al escribir, o si el destino ya ha fallado
+     * @throws InterruptedException Si se interrumpe la espera por sitio en
+     * el búfer
+     */
+    void write(String name, byte[] data) throws IOException, InterruptedException;
+
+    /**
+     * Cada fichero en la carpeta, que se crea si no existe
+     *
+     * @param dir carpeta de salida
+     * @return el destino
+     * @throws IOException Error al crear la carpeta
+     */
+    static QrBatchSink directory(Path dir) throws IOException {
+        return new QrDirectorySink(dir);
+    }
+
+    /**
+     * Destino según la ruta: .zip y .tar son un único archivo que se escribe
+     * en streaming, cualquier otra cosa es una carpeta
+     *
+     * @param path ruta de salida
+     * @return el destino
+     * @throws IOException Error al crear la carpeta o el archivo
+     */
+    static QrBatchSink of(Path path) throws IOException {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        QrArchiveSink.Format format = name.endsWith(".zip") ? QrArchiveSink.Format.ZIP
+                : name.endsWith(".tar") ? QrArchiveSink.Format.TAR : null;
+        if (format == null) {
+            return directory(path);
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new QrArchiveSink(new BufferedOutputStream(Files.newOutputStream(path)), format,
+                QrArchiveSink.DEFAULT_CAPACITY);
+    }
+}
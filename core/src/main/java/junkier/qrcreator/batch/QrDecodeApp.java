@@ -0,0 +1,63 @@
+package junkier.qrcreator.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import junkier.qrcreator.services.QrMetrics;
+
+/**
+ * Punto de entrada de la lectura por lotes, sin interfaz ni toolkit de JavaFX
+ *
+ * Uso: java -cp QRCreator-core-1.0-jar-with-dependencies.jar
+ * junkier.qrcreator.batch.QrDecodeApp carpeta|fichero.zip [salida.csv|salida.jsonl|-] [hilos] [--try-harder] [--metrics]
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.1
+ */
+public class QrDecodeApp {
+
+    public static void main(String[] args) throws Exception {
+        List<String> positional = new ArrayList<>();
+        boolean tryHarder = false;
+        for (String arg : args) {
+            if (arg.equals("--try-harder")) {
+                tryHarder = true;
+            } else if (arg.equals("--metrics")) {
+                QrMetrics.setEnabled(true);
+            } else {
+                positional.add(arg);
+            }
+        }
+        if (positional.isEmpty()) {
+            System.err.println("Uso: QrDecodeApp carpeta|fichero.zip [salida.csv|salida.jsonl|-] [hilos] [--try-harder] [--metrics]");
+            System.exit(2);
+        }
+        System.setProperty("java.awt.headless", "true");
+
+        Path input = Path.of(positional.get(0));
+        String output = positional.size() > 1 ? positional.get(1) : "-";
+        int threads = positional.size() > 2 ? Integer.parseInt(positional.get(2)) : Runtime.getRuntime().availableProcessors();
+
+        QrBatchDecoder.Summary summary;
+        if (output.equals("-")) {
+            PrintStream out = new PrintStream(new BufferedOutputStream(System.out), false, StandardCharsets.UTF_8);
+            summary = new QrBatchDecoder(threads, out, QrBatchDecoder.Format.CSV, tryHarder).run(input);
+        } else {
+            Path path = Path.of(output);
+            try (PrintStream out = new PrintStream(new BufferedOutputStream(Files.newOutputStream(path)), false,
+                    StandardCharsets.UTF_8)) {
+                summary = new QrBatchDecoder(threads, out, QrBatchDecoder.Format.of(path), tryHarder).run(input);
+            }
+        }
+        System.err.println(summary);
+        if (QrMetrics.isEnabled()) {
+            System.err.print(QrMetrics.text());
+        }
+        System.exit(summary.failed() == 0 ? 0 : 1);
+    }
+}
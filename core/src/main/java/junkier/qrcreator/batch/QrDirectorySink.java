@@ -0,0 +1,59 @@
+package junkier.qrcreator.batch;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import junkier.qrcreator.services.QrMetrics;
+
+/**
+ * Destino de carpeta: cada hilo de render escribe su fichero directamente.
+ * Un nombre repetido en el lote se rechaza al reservarlo, como en los
+ * archivos, en vez de sobrescribir el de otra fila. Los nombres reservados
+ * crecen con el lote igual que en {@link QrArchiveSink}
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.2
+ */
+public class QrDirectorySink implements QrBatchSink {
+
+    private final Path dir;
+    private final Set<String> names = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param dir carpeta de salida, se crea si no existe
+     * @throws IOException Error al crear la carpeta
+     */
+    public QrDirectorySink(Path dir) throws IOException {
+        this.dir = dir;
+        Files.createDirectories(dir);
+    }
+
+    @Override
+    public void reserve(String name) throws IOException {
+        if (!names.add(name)) {
+            throw new IOException("Fichero repetido en la carpeta: " + name);
+        }
+    }
+
+    @Override
+    public void write(String name, byte[] data) throws IOException {
+        long start = QrMetrics.start();
+        Files.write(dir.resolve(name), data);
+        QrMetrics.stop(QrMetrics.Stage.WRITE, start);
+        QrMetrics.count(QrMetrics.Counter.SAVED, 1);
+        QrMetrics.count(QrMetrics.Counter.BYTES_WRITTEN, data.length);
+    }
+
+    @Override
+    public void close() {
+        // cada fichero se cierra al escribirlo
+    }
+
+    @Override
+    public String toString() {
+        return dir.toString();
+    }
+}
@@ -0,0 +1,311 @@
+package junkier.qrcreator.server;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.qrcode.encoder.QRCode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import junkier.qrcreator.batch.FlatJson;
+import junkier.qrcreator.services.QrColors;
+import junkier.qrcreator.services.QrGeneratorService;
+import junkier.qrcreator.services.QrMetrics;
+import junkier.qrcreator.services.QrLruCache;
+import junkier.qrcreator.services.QrPdfWriter;
+import junkier.qrcreator.services.QrRenderCache;
+import junkier.qrcreator.services.QrRenderEngine;
+import junkier.qrcreator.services.QrRenderSpec;
+import junkier.qrcreator.services.QrRenderer;
+import junkier.qrcreator.services.QrSvgWriter;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+
+/**
+ * Servicio HTTP embebido que genera QR bajo demanda, con el servidor del JDK
+ * y un hilo virtual por petición. Un semáforo limita los renders simultáneos
+ * y las peticiones que no consiguen turno reciben 503. Los bytes de cada
+ * respuesta se guardan en una caché LRU por la especificación completa.
+ *
+ * GET|POST /qr con content, front, back, eye, size, margin, dpi y format
+ * (png|svg|pdf) por query, formulario o JSON. GET /metrics devuelve las métricas en texto,
+ * con las de cada etapa si {@link QrMetrics} está activo.
+ *
+ * Ejemplo: curl -o qr.png "http://localhost:8080/qr?content=hola&amp;eye=CIRCLE&amp;size=800"
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.6
+ */
+public class QrHttpServer {
+
+    public static final int DEFAULT_PORT = 8080;
+
+    private static final int MAX_BODY = 64 * 1024;
+    private static final long ACQUIRE_TIMEOUT_MS = 250;
+    private static final int CACHE_ENTRIES = 4096;
+    private static final long CACHE_BYTES = 64L * 1024 * 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final QrServerMetrics metrics = new QrServerMetrics();
+    private final QrRenderCache cache = new QrRenderCache(CACHE_ENTRIES, CACHE_BYTES);
+    private final QrRenderer renderer = new QrRenderer(cache);
+
+    /**
+     * @param port puerto de escucha, 0 para uno libre
+     * @param maxConcurrent renders simultáneos permitidos
+     * @throws IOException Error al abrir el puerto
+     */
+    public QrHttpServer(int port, int maxConcurrent) throws IOException {
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(executor);
+        server.createContext("/qr", this::handleQr);
+        server.createContext("/metrics", this::handleMetrics);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Detiene el servidor esperando como mucho un segundo a las peticiones
+     * en curso
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public QrServerMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void handleQr(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        int status = 500;
+        try (exchange) {
+            try {
+                status = serveQr(exchange);
+            } catch (RuntimeException e) {
+                // Dentro del try del exchange, que en su catch ya está
+                // cerrado: un fallo inesperado se responde con 500 si aún no
+                // se han mandado las cabeceras, para no cortar la conexión
+                // sin respuesta
+                QrMetrics.error("http", e);
+                System.err.println("Error en " + exchange.getRequestURI() + ": " + e);
+                if (exchange.getResponseCode() == -1) {
+                    sendText(exchange, status, "Error interno del servidor");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            metrics.record(status, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Comprueba el método, los parámetros y el turno y responde a /qr
+     *
+     * @return código HTTP devuelto
+     */
+    private int serveQr(HttpExchange exchange) throws IOException, InterruptedException {
+        String method = exchange.getRequestMethod();
+        if (!method.equals("GET") && !method.equals("POST")) {
+            sendText(exchange, 405, "Método no permitido");
+            return 405;
+        }
+        Map<String, String> params;
+        try {
+            params = parameters(exchange);
+        } catch (IllegalArgumentException e) {
+            sendText(exchange, 400, e.getMessage());
+            return 400;
+        }
+        if (!permits.tryAcquire(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            sendText(exchange, 503, "Servidor ocupado");
+            return 503;
+        }
+        try {
+            return render(exchange, params);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Valida los parámetros y escribe la imagen en la respuesta
+     *
+     * @return código HTTP devuelto
+     */
+    private int render(HttpExchange exchange, Map<String, String> params) throws IOException {
+        QrRenderSpec spec;
+        String format;
+        try {
+            String content = params.get("content");
+            if (content == null || content.isEmpty()) {
+                throw new IllegalArgumentException("Falta el parámetro content");
+            }
+            spec = QrRenderSpec.of(content)
+                    .withColors(QrColors.parse(params.get("front"), QrColors.BLACK),
+                            QrColors.parse(params.get("back"), QrColors.WHITE))
+                    .withEyeShape(params.containsKey("eye") ? EyeShape.fromName(params.get("eye")) : EyeShape.SQUARE);
+            // Los límites de size y margin los comprueba QrRenderSpec
+            int size = Integer.parseInt(params.getOrDefault("size", String.valueOf(QrRenderer.DEFAULT_SIZE)));
+            int margin = Integer.parseInt(params.getOrDefault("margin", String.valueOf(QrRenderer.DEFAULT_MARGIN)));
+            spec = spec.withSize(size, margin)
+                    .withDpi(Integer.parseInt(params.getOrDefault("dpi", "0")));
+            format = params.getOrDefault("format", "png").toLowerCase(Locale.ROOT);
+            if (!format.equals("png") && !format.equals("svg") && !format.equals("pdf")) {
+                throw new IllegalArgumentException("format debe ser png, svg o pdf");
+            }
+        } catch (IllegalArgumentException e) {
+            sendText(exchange, 400, e.getMessage());
+            return 400;
+        }
+
+        long renderStart = System.nanoTime();
+        QrRenderCache.Key key = QrRenderCache.Key.of(spec, format);
+        byte[] bytes = cache.getBytes(key);
+        boolean hit = bytes != null;
+        if (!hit) {
+            try {
+                bytes = encode(spec, format);
+            } catch (WriterException | IllegalArgumentException e) {
+                sendText(exchange, 400, e.getMessage());
+                return 400;
+            }
+            cache.putBytes(key, bytes);
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", switch (format) {
+            case "svg" -> "image/svg+xml";
+            case "pdf" -> "application/pdf";
+            default -> "image/png";
+        });
+        exchange.getResponseHeaders().set("Server-Timing", String.format(Locale.ROOT, "render;dur=%.3f;desc=%s",
+                (System.nanoTime() - renderStart) / 1e6, hit ? "hit" : "miss"));
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        return 200;
+    }
+
+    /**
+     * Renderiza y codifica el QR en el formato pedido
+     */
+    private byte[] encode(QrRenderSpec spec, String format) throws WriterException, IOException {
+        QRCode code = renderer.encode(spec.content());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (format.equals("svg")) {
+            QrSvgWriter.write(code, spec.size(), spec.margin(), spec.eyeShape(), spec.front(), spec.back(), out);
+        } else if (format.equals("pdf")) {
+            QrPdfWriter.write(code, spec.size(), spec.margin(), spec.eyeShape(), spec.front(), spec.back(), out);
+        } else {
+            BufferedImage qr = QrRenderEngine.render(code, spec.size(), spec.margin(), spec.eyeShape(), spec.front(),
+                    spec.back());
+            QrGeneratorService.writePng(qr, spec.dpi(), out);
+        }
+        return out.toByteArray();
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            QrLruCache.Stats stats = cache.stats();
+            sendText(exchange, 200, metrics.snapshot(maxConcurrent - permits.availablePermits())
+                    + "qr_cache_hits " + stats.hits() + "\n"
+                    + "qr_cache_misses " + stats.misses() + "\n"
+                    + "qr_cache_evictions " + stats.evictions() + "\n"
+                    + "qr_cache_entries " + stats.entries() + "\n"
+                    + "qr_cache_bytes " + stats.weight() + "\n"
+                    + (QrMetrics.isEnabled() ? QrMetrics.text() : ""));
+        }
+    }
+
+    /**
+     * Junta los parámetros de la query y del cuerpo (formulario, JSON o el
+     * contenido en texto plano)
+     */
+    private static Map<String, String> parameters(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), params);
+
+        if (exchange.getRequestMethod().equals("POST")) {
+            String body = readBody(exchange.getRequestBody());
+            String type = exchange.getRequestHeaders().getFirst("Content-Type");
+            type = type == null ? "" : type.toLowerCase(Locale.ROOT);
+            if (type.startsWith("application/json")) {
+                params.putAll(FlatJson.parse(body));
+            } else if (type.startsWith("application/x-www-form-urlencoded")) {
+                parseForm(body, params);
+            } else if (!body.isEmpty()) {
+                params.put("content", body);
+            }
+        }
+        return params;
+    }
+
+    private static void parseForm(String raw, Map<String, String> params) {
+        if (raw == null || raw.isEmpty()) {
+            return;
+        }
+        for (String pair : raw.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8).toLowerCase(Locale.ROOT),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        byte[] body = in.readNBytes(MAX_BODY + 1);
+        if (body.length > MAX_BODY) {
+            throw new IllegalArgumentException("Cuerpo demasiado grande");
+        }
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    /**
+     * Arranca el servicio. Uso: QrHttpServer [puerto] [renders simultáneos]
+     */
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int maxConcurrent = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        QrHttpServer server = new QrHttpServer(port, maxConcurrent);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        server.start();
+        System.out.println("Servicio QR escuchando en http://localhost:" + server.getPort() + "/qr");
+    }
+}
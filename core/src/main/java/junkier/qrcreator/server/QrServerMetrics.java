@@ -0,0 +1,84 @@
+package junkier.qrcreator.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas del servicio HTTP: peticiones por resultado y latencia por
+ * petición en un histograma de cubetas fijas
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.0
+ */
+public class QrServerMetrics {
+
+    /**
+     * Límites superiores de las cubetas de latencia, en milisegundos
+     */
+    private static final long[] BUCKETS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500};
+
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder badRequest = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder[] buckets = new LongAdder[BUCKETS_MS.length + 1];
+
+    public QrServerMetrics() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Registra una petición terminada
+     *
+     * @param status código HTTP devuelto
+     * @param nanos duración de la petición
+     */
+    public void record(int status, long nanos) {
+        if (status < 300) {
+            ok.increment();
+        } else if (status == 503) {
+            rejected.increment();
+        } else if (status < 500) {
+            badRequest.increment();
+        } else {
+            errors.increment();
+        }
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+
+        long millis = nanos / 1_000_000;
+        int bucket = 0;
+        while (bucket < BUCKETS_MS.length && millis >= BUCKETS_MS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+    }
+
+    /**
+     * Instantánea de las métricas en texto, una métrica por línea
+     *
+     * @param inFlight peticiones en curso
+     * @return el texto de las métricas
+     */
+    public String snapshot(int inFlight) {
+        long count = ok.sum() + badRequest.sum() + rejected.sum() + errors.sum();
+        StringBuilder out = new StringBuilder();
+        out.append("qr_requests_ok ").append(ok.sum()).append('\n');
+        out.append("qr_requests_bad_request ").append(badRequest.sum()).append('\n');
+        out.append("qr_requests_rejected ").append(rejected.sum()).append('\n');
+        out.append("qr_requests_error ").append(errors.sum()).append('\n');
+        out.append("qr_requests_in_flight ").append(inFlight).append('\n');
+        out.append("qr_latency_avg_ms ").append(count == 0 ? 0 : totalNanos.sum() / count / 1e6).append('\n');
+        out.append("qr_latency_max_ms ").append(maxNanos.get() / 1e6).append('\n');
+        for (int i = 0; i < buckets.length; i++) {
+            String le = i < BUCKETS_MS.length ? String.valueOf(BUCKETS_MS[i]) : "+Inf";
+            out.append("qr_latency_ms_bucket{lt=\"").append(le).append("\"} ").append(buckets[i].sum()).append('\n');
+        }
+        return out.toString();
+    }
+}
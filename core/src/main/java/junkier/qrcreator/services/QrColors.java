@@ -0,0 +1,56 @@
+package junkier.qrcreator.services;
+
+/**
+ * Utilidades para los colores ARGB del QR cuando no se usan los ColorPicker
+ * de JavaFX (modo por lotes, servicios)
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.0
+ */
+public class QrColors {
+
+    public static final int BLACK = 0xFF000000;
+    public static final int WHITE = 0xFFFFFFFF;
+
+    /**
+     * Convierte un color hexadecimal en formato web (#RRGGBB o #RRGGBBAA, con
+     * o sin almohadilla) a ARGB
+     *
+     * @param hex color en hexadecimal
+     * @param fallback color a usar si el texto viene vacío
+     * @return el color ARGB
+     * @throws IllegalArgumentException si el color no es válido
+     */
+    public static int parse(String hex, int fallback) {
+        if (hex == null || hex.isBlank()) {
+            return fallback;
+        }
+        String value = hex.trim();
+        if (value.startsWith("#")) {
+            value = value.substring(1);
+        }
+        try {
+            if (value.length() == 6) {
+                return 0xFF000000 | Integer.parseUnsignedInt(value, 16);
+            }
+            if (value.length() == 8) {
+                int rgba = Integer.parseUnsignedInt(value, 16);
+                return (rgba >>> 8) | (rgba << 24);
+            }
+        } catch (NumberFormatException e) {
+            // se informa abajo con el mismo mensaje
+        }
+        throw new IllegalArgumentException("Color no válido: " + hex);
+    }
+
+    /**
+     * Convierte un color ARGB al formato web #RRGGBBAA
+     *
+     * @param argb color ARGB
+     * @return el color en hexadecimal
+     */
+    public static String toHex(int argb) {
+        return String.format("#%06X%02X", argb & 0xFFFFFF, argb >>> 24);
+    }
+}
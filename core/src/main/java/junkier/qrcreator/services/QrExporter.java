@@ -0,0 +1,205 @@
+package junkier.qrcreator.services;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.qrcode.encoder.QRCode;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exportación de un mismo QR en varios tamaños y formatos, por ejemplo
+ * miniatura web, pantalla e impresión. El contenido se codifica una sola vez
+ * y cada salida se rasteriza o se traza en paralelo desde la misma matriz de
+ * módulos; las máscaras de los ojos y la caja del logo ya salen de sus
+ * cachés
+ *
+ * Los ficheros se llaman como el conjunto con el sufijo de la salida:
+ * nombre@1x.png, nombre@4x.png, nombre.svg
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.0
+ */
+public class QrExporter {
+
+    /**
+     * Formato de una salida
+     */
+    public enum Format {
+        PNG, SVG, PDF;
+
+        String extension() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Una salida del conjunto
+     *
+     * @param format formato del fichero
+     * @param scale múltiplo del tamaño de la especificación; en los
+     * vectoriales solo cambia el tamaño declarado del documento
+     * @param suffix lo que se añade al nombre antes de la extensión
+     */
+    public record Target(Format format, int scale, String suffix) {
+
+        public Target {
+            if (format == null) {
+                throw new IllegalArgumentException("Falta el formato");
+            }
+            if (scale <= 0) {
+                throw new IllegalArgumentException("La escala tiene que ser positiva: " + scale);
+            }
+            if (suffix == null) {
+                suffix = "";
+            }
+        }
+
+        /**
+         * @param scale múltiplo del tamaño de la especificación
+         * @return PNG con el sufijo @Nx
+         */
+        public static Target png(int scale) {
+            return new Target(Format.PNG, scale, "@" + scale + "x");
+        }
+
+        /**
+         * @return SVG al tamaño de la especificación, sin sufijo
+         */
+        public static Target svg() {
+            return new Target(Format.SVG, 1, "");
+        }
+
+        /**
+         * @return PDF al tamaño de la especificación, sin sufijo
+         */
+        public static Target pdf() {
+            return new Target(Format.PDF, 1, "");
+        }
+
+        /**
+         * @param name nombre del conjunto
+         * @return nombre del fichero de esta salida
+         */
+        public String filename(String name) {
+            return name + suffix + "." + format.extension();
+        }
+    }
+
+    /**
+     * Web, pantalla y vectorial
+     */
+    public static final List<Target> DEFAULT_TARGETS = List.of(Target.png(1), Target.png(4), Target.svg());
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "qr-export-" + COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final QrRenderer renderer;
+
+    public QrExporter() {
+        this(new QrRenderer());
+    }
+
+    /**
+     * @param renderer renderizador con el que se codifica y se rasteriza; si
+     * tiene caché se reutiliza la matriz ya codificada
+     */
+    public QrExporter(QrRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    /**
+     * Exportar el QR con las salidas por defecto
+     *
+     * @param spec descripción del QR al tamaño base (1x)
+     * @param dir carpeta de destino, se crea si no existe
+     * @param name nombre del conjunto, sin extensión
+     * @return rutas de los ficheros escritos
+     * @throws WriterException Error al codificar el contenido
+     * @throws IOException Error al leer el logo o al escribir en disco
+     * @throws InterruptedException Si se interrumpe la espera de las salidas
+     */
+    public List<Path> export(QrRenderSpec spec, Path dir, String name)
+            throws WriterException, IOException, InterruptedException {
+        return export(spec, dir, name, DEFAULT_TARGETS);
+    }
+
+    /**
+     * Exportar el QR en todas las salidas indicadas. Si una falla, se
+     * cancelan las pendientes y se lanza su error; los ficheros ya escritos
+     * se quedan
+     *
+     * @param spec descripción del QR al tamaño base (1x)
+     * @param dir carpeta de destino, se crea si no existe
+     * @param name nombre del conjunto, sin extensión
+     * @param targets salidas a generar
+     * @return rutas de los ficheros escritos, en el orden de las salidas
+     * @throws WriterException Error al codificar el contenido
+     * @throws IOException Error al leer el logo o al escribir en disco
+     * @throws InterruptedException Si se interrumpe la espera de las salidas
+     */
+    public List<Path> export(QrRenderSpec spec, Path dir, String name, List<Target> targets)
+            throws WriterException, IOException, InterruptedException {
+        QRCode code = renderer.encode(spec.content());
+        Files.createDirectories(dir);
+
+        List<Future<Path>> futures = new ArrayList<>(targets.size());
+        for (Target target : targets) {
+            Path path = dir.resolve(target.filename(name));
+            futures.add(POOL.submit(() -> write(spec, code, target, path)));
+        }
+
+        List<Path> written = new ArrayList<>(targets.size());
+        try {
+            for (Future<Path> future : futures) {
+                written.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+        return written;
+    }
+
+    private Path write(QrRenderSpec spec, QRCode code, Target target, Path path) throws IOException {
+        int size = spec.size() * target.scale();
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            switch (target.format()) {
+                case PNG -> {
+                    // La resolución también se escala para que el tamaño impreso sea el mismo
+                    BufferedImage qr = renderer.render(spec.withSize(size, spec.margin()), code);
+                    QrGeneratorService.writePng(qr, spec.dpi() * target.scale(), out);
+                }
+                case SVG ->
+                    QrSvgWriter.write(code, size, spec.margin(), spec.eyeShape(), spec.front(), spec.back(), out);
+                case PDF -> {
+                    // Sin resolución, un pixel de la especificación es un punto
+                    double points = spec.dpi() > 0 ? size * 72.0 / spec.dpi() : size;
+                    QrPdfWriter.write(code, points, spec.margin(), spec.eyeShape(), spec.front(), spec.back(), out);
+                }
+            }
+        }
+        return path;
+    }
+}
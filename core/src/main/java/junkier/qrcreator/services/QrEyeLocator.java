@@ -0,0 +1,64 @@
+package junkier.qrcreator.services;
+
+import com.google.zxing.qrcode.decoder.Version;
+
+import java.util.List;
+import junkier.qrcreator.services.QrRenderEngine.Layout;
+
+/**
+ * Localiza los ojos (patrones de posición) del QR a partir de su geometría.
+ * La especificación fija los tres patrones en las esquinas del símbolo, asi
+ * que no hace falta recorrer la matriz para encontrarlos
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.0
+ */
+public class QrEyeLocator {
+
+    /**
+     * Lado del patrón de posición en módulos
+     */
+    private static final int FINDER_SIZE = 7;
+    /**
+     * Lado del cuadrado central del patrón, el bloque que se transforma
+     */
+    private static final int PUPIL_SIZE = 3;
+    /**
+     * Desplazamiento del cuadrado central dentro del patrón
+     */
+    private static final int PUPIL_OFFSET = (FINDER_SIZE - PUPIL_SIZE) / 2;
+
+    /**
+     * Calcula los ojos del QR en pixeles a partir de la versión
+     *
+     * @param version versión del símbolo
+     * @param size tamaño de la imagen en pixeles
+     * @param margin zona de silencio en módulos
+     * @return lista de {x, y, blockSize} de los tres ojos
+     */
+    public static List<int[]> locate(Version version, int size, int margin) {
+        return locate(Layout.of(version.getDimensionForVersion(), size, margin));
+    }
+
+    /**
+     * Calcula los ojos del QR en pixeles, en el mismo formato que la
+     * detección por bloques de QrTransformEyesService: superior izquierdo,
+     * superior derecho e inferior izquierdo
+     *
+     * @param layout geometría de la imagen
+     * @return lista de {x, y, blockSize} de los tres ojos
+     */
+    public static List<int[]> locate(Layout layout) {
+        int multiple = layout.multiple();
+        int blockSize = PUPIL_SIZE * multiple;
+        int near = layout.padding() + PUPIL_OFFSET * multiple;
+        int far = layout.padding() + (layout.dimension() - FINDER_SIZE + PUPIL_OFFSET) * multiple;
+
+        return List.of(
+                new int[]{near, near, blockSize},
+                new int[]{far, near, blockSize},
+                new int[]{near, far, blockSize}
+        );
+    }
+}
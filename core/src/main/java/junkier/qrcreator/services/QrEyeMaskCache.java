@@ -0,0 +1,207 @@
+package junkier.qrcreator.services;
+
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.BitMatrix;
+
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+
+/**
+ * Caché de máscaras de los ojos. La forma de un ojo solo depende de la forma
+ * elegida y del tamaño del bloque, así que se calcula una vez, se guarda
+ * empaquetada en palabras de 32 bits (igual que BitMatrix) y se aplica por
+ * palabras en lugar de evaluar la forma pixel a pixel. La caché está acotada:
+ * con tamaños libres cada forma puede pedir muchos tamaños de bloque
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.2
+ */
+public class QrEyeMaskCache {
+
+    private static final int MAX_MASKS = 64;
+    private static final long MAX_BYTES = 8L * 1024 * 1024;
+
+    private static final QrLruCache<Key, EyeMask> CACHE = new QrLruCache<>(MAX_MASKS, MAX_BYTES, EyeMask::weight);
+
+    private record Key(EyeShape shape, int blockSize) {
+    }
+
+    /**
+     * Devuelve la máscara de la forma para el tamaño de bloque, calculandola
+     * solo la primera vez mientras siga en la caché
+     *
+     * @param shape forma elegida
+     * @param blockSize tamaño del bloque en pixeles
+     * @return la máscara, con los bits a 1 en los pixeles que se mantienen
+     */
+    public static EyeMask get(EyeShape shape, int blockSize) {
+        Key key = new Key(shape, blockSize);
+        EyeMask mask = CACHE.get(key);
+        if (mask == null) {
+            // Dos hilos pueden calcular la misma máscara a la vez; sale igual
+            mask = EyeMask.build(shape, blockSize);
+            CACHE.put(key, mask);
+        }
+        return mask;
+    }
+
+    /**
+     * Máscara de un ojo empaquetada por filas. Los bits sobrantes de la
+     * última palabra de cada fila van a 1 para que no borren nada
+     */
+    public static final class EyeMask {
+
+        private final int blockSize;
+        private final int rowSize;
+        private final int[] bits;
+        private final boolean full;
+
+        private EyeMask(int blockSize, int rowSize, int[] bits, boolean full) {
+            this.blockSize = blockSize;
+            this.rowSize = rowSize;
+            this.bits = bits;
+            this.full = full;
+        }
+
+        private static EyeMask build(EyeShape shape, int blockSize) {
+            int rowSize = (blockSize + 31) / 32;
+            int[] bits = new int[rowSize * blockSize];
+            boolean full = true;
+
+            for (int dy = 0; dy < blockSize; dy++) {
+                int offset = dy * rowSize;
+                for (int dx = 0; dx < rowSize * 32; dx++) {
+                    if (dx >= blockSize || QrTransformEyesService.keep(shape, dx, dy, blockSize)) {
+                        bits[offset + (dx >> 5)] |= 1 << (dx & 0x1f);
+                    } else {
+                        full = false;
+                    }
+                }
+            }
+            return new EyeMask(blockSize, rowSize, bits, full);
+        }
+
+        public int getBlockSize() {
+            return blockSize;
+        }
+
+        private long weight() {
+            return (long) bits.length * Integer.BYTES;
+        }
+
+        /**
+         * Indica si la máscara mantiene todo el bloque, por ejemplo el
+         * cuadrado, y por tanto no hace falta aplicarla
+         *
+         * @return true si no borra ningún pixel
+         */
+        public boolean isFull() {
+            return full;
+        }
+
+        /**
+         * Aplica la máscara sobre las filas del BitMatrix con un AND por
+         * palabra
+         *
+         * @param matrix matriz de pixeles
+         * @param x0 posicion x del bloque
+         * @param y0 posicion y del bloque
+         */
+        public void applyTo(BitMatrix matrix, int x0, int y0) {
+            if (full) {
+                return;
+            }
+            int firstWord = x0 >> 5;
+            int lastWord = (x0 + blockSize - 1) >> 5;
+            BitArray row = new BitArray(matrix.getWidth());
+
+            for (int dy = 0; dy < blockSize; dy++) {
+                row = matrix.getRow(y0 + dy, row);
+                int[] words = row.getBitArray();
+                int offset = dy * rowSize;
+                for (int w = firstWord; w <= lastWord; w++) {
+                    words[w] &= window(offset, w * 32 - x0);
+                }
+                matrix.setRow(y0 + dy, row);
+            }
+        }
+
+        /**
+         * Aplica la máscara sobre los pixeles ARGB, pintando con el fondo los
+         * bits a 0 (AND NOT por palabra, saltando las palabras completas)
+         *
+         * @param pixels buffer ARGB de la imagen
+         * @param width ancho de la imagen en pixeles
+         * @param x0 posicion x del bloque
+         * @param y0 posicion y del bloque
+         * @param back color ARGB del fondo
+         */
+        public void applyTo(int[] pixels, int width, int x0, int y0, int back) {
+            if (full) {
+                return;
+            }
+            for (int dy = 0; dy < blockSize; dy++) {
+                int rowStart = (y0 + dy) * width + x0;
+                int offset = dy * rowSize;
+                for (int w = 0; w < rowSize; w++) {
+                    int cleared = ~bits[offset + w];
+                    while (cleared != 0) {
+                        int bit = Integer.numberOfTrailingZeros(cleared);
+                        pixels[rowStart + w * 32 + bit] = back;
+                        cleared &= cleared - 1;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Igual que {@link #applyTo(int[], int, int, int, int)} sobre una
+         * imagen de índices de paleta de un byte por pixel
+         *
+         * @param pixels índices de la imagen
+         * @param width ancho de la imagen en pixeles
+         * @param x0 posicion x del bloque
+         * @param y0 posicion y del bloque
+         * @param back índice del fondo
+         */
+        public void applyTo(byte[] pixels, int width, int x0, int y0, byte back) {
+            if (full) {
+                return;
+            }
+            for (int dy = 0; dy < blockSize; dy++) {
+                int rowStart = (y0 + dy) * width + x0;
+                int offset = dy * rowSize;
+                for (int w = 0; w < rowSize; w++) {
+                    int cleared = ~bits[offset + w];
+                    while (cleared != 0) {
+                        int bit = Integer.numberOfTrailingZeros(cleared);
+                        pixels[rowStart + w * 32 + bit] = back;
+                        cleared &= cleared - 1;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Extrae 32 bits de una fila de la máscara a partir de un bit
+         * relativo, que puede caer fuera del bloque (se rellena con 1)
+         *
+         * @param offset inicio de la fila en el array de palabras
+         * @param rel bit de inicio relativo al bloque
+         * @return la palabra alineada con la matriz destino
+         */
+        private int window(int offset, int rel) {
+            int index = rel >> 5;
+            int shift = rel & 0x1f;
+            int low = word(offset, index);
+            if (shift == 0) {
+                return low;
+            }
+            return (low >>> shift) | (word(offset, index + 1) << (32 - shift));
+        }
+
+        private int word(int offset, int index) {
+            return index < 0 || index >= rowSize ? -1 : bits[offset + index];
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package junkier.qrcreator.services;
+
+import com.google.zxing.qrcode.encoder.QRCode;
+
+import java.awt.image.BufferedImage;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+
+/**
+ * Servicio que se encarga de generar, tanto el preview como el Qr en si
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2025-07-28
+ * @version 1.13
+ */
+public class QrGeneratorService {
+
+    private static final int CACHE_ENTRIES = 32;
+    private static final long CACHE_BYTES = 32L * 1024 * 1024;
+
+    /**
+     * El preview y la comprobación de lectura piden el mismo QR seguidos, así
+     * que el renderizador comparte una caché pequeña
+     */
+    private static final QrRenderer RENDERER = new QrRenderer(new QrRenderCache(CACHE_ENTRIES, CACHE_BYTES));
+
+    private static final QrExporter EXPORTER = new QrExporter(RENDERER);
+
+    private static final int PNG_BUFFER = 8 * 1024;
+
+    /**
+     * Generar y guardar en disco
+     *
+     * @param adressQrTF Datos del QR
+     * @param nameQrTF Nombre del QR, con el que se guardará en disco
+     * @param imagePathField Imagen central, si la hubiera
+     * @param front color ARGB de los datos de la matriz
+     * @param back color ARGB del fondo del QR
+     * @param eyeshape Forma de las esquinas del QR elegida
+     * @return Ruta del QR Generado
+     */
+    public static String generator(String adressQrTF, String nameQrTF, String imagePathField,
+            int front, int back, EyeShape eyeshape) {
+        try {
+            String outputPath = buildOutputPath(nameQrTF);
+            BufferedImage qr = generateQr(adressQrTF, imagePathField, front, back, eyeshape);
+            saveImage(qr, outputPath);
+            return outputPath;
+        } catch (Exception e) {
+            QrMetrics.error("generate", e);
+            return null;
+        }
+    }
+
+    /**
+     * Generar preview para ImageView
+     *
+     * @param adressQrTF Datos del QR
+     * @param imagePathField Imagen central, si la hubiera
+     * @param front color ARGB de los datos de la matriz
+     * @param back color ARGB del fondo del QR
+     * @param eyeshape Forma de las esquinas del QR elegida
+     * @return Imagen de la Matriz generada
+     */
+    public static BufferedImage generatorPreview(String adressQrTF, String imagePathField,
+            int front, int back, EyeShape eyeshape) {
+        try {
+            return generateQr(adressQrTF, imagePathField, front, back, eyeshape);
+        } catch (Exception e) {
+            QrMetrics.error("preview", e);
+            return null;
+        }
+    }
+
+    /**
+     * Piezas del preview sin montar, al tamaño que de verdad ocupa en
+     * pantalla, para que el ImageView las pinte directamente en su buffer
+     *
+     * @param adressQrTF Datos del QR
+     * @param imagePathField Imagen central, si la hubiera
+     * @param front color ARGB de los datos de la matriz
+     * @param back color ARGB del fondo del QR
+     * @param eyeshape Forma de las esquinas del QR elegida
+     * @param size lado del preview en pixeles físicos
+     * @return rejilla, colores y logo del QR, o null si no se ha podido generar
+     */
+    public static QrRenderer.Layers previewLayers(String adressQrTF, String imagePathField,
+            int front, int back, EyeShape eyeshape, int size) {
+        try {
+            return RENDERER.layers(buildSpec(adressQrTF, imagePathField, front, back, eyeshape)
+                    .withSize(size, QrRenderer.DEFAULT_MARGIN));
+        } catch (Exception e) {
+            QrMetrics.error("preview", e);
+            return null;
+        }
+    }
+
+    /**
+     * Comprobar si el QR se podrá leer, sin generar la imagen en el caso
+     * habitual
+     *
+     * @param adressQrTF Datos del QR
+     * @param imagePathField Imagen central, si la hubiera
+     * @param front color ARGB de los datos de la matriz
+     * @param back color ARGB del fondo del QR
+     * @param eyeshape Forma de las esquinas del QR elegida
+     * @return true si se puede leer
+     */
+    public static boolean isReadable(String adressQrTF, String imagePathField,
+            int front, int back, EyeShape eyeshape) {
+        return QrReadabilityService.check(buildSpec(adressQrTF, imagePathField, front, back, eyeshape), RENDERER)
+                .readable();
+    }
+
+    /**
+     * Generar la imagen del QR con colores ARGB. Es la entrada del modo por
+     * lotes
+     *
+     * @param content Datos del QR
+     * @param logoPath Imagen central, si la hubiera
+     * @param front color ARGB de los datos de la matriz
+     * @param back color ARGB del fondo del QR
+     * @param eyeshape Forma de las esquinas del QR elegida
+     * @return Imagen de la Matriz generada
+     * @throws Exception Error al codificar el contenido o al leer el logo
+     */
+    public static BufferedImage generateQr(String content, String logoPath,
+            int front, int back, EyeShape eyeshape) throws Exception {
+        return RENDERER.render(buildSpec(content, logoPath, front, back, eyeshape));
+    }
+
+    /**
+     * Generar la imagen del QR a partir de una especificación completa, con
+     * su tamaño y zona de silencio
+     *
+     * @param spec descripción del QR
+     * @return Imagen de la Matriz generada
+     * @throws Exception Error al codificar el contenido o al leer el logo
+     */
+    public static BufferedImage generateQr(QrRenderSpec spec) throws Exception {
+        return RENDERER.render(spec);
+    }
+
+    /**
+     * Construir la especificación de render a partir de los campos de la
+     * pantalla o de una fila del lote
+     *
+     * @param content Datos del QR
+     * @param logoPath Imagen central, si la hubiera
+     * @param front color ARGB de los datos de la matriz
+     * @param back color ARGB del fondo del QR
+     * @param eyeshape Forma de las esquinas del QR elegida
+     * @return la especificación
+     */
+    public static QrRenderSpec buildSpec(String content, String logoPath, int front, int back, EyeShape eyeshape) {
+        QrLogoSource logo = logoPath == null || logoPath.isBlank() ? null : QrLogoSource.ofPath(Path.of(logoPath));
+        return new QrRenderSpec(content, front, back, eyeshape, logo);
+    }
+
+    /**
+     * Guardar imagen en disco
+     *
+     * @param img Imagen del QR
+     * @param path Direccion del Disco
+     * @throws Exception Error al escribir en disco
+     */
+    public static void saveImage(BufferedImage img, String path) throws Exception {
+        saveImage(img, path, 0);
+    }
+
+    /**
+     * Guardar imagen en disco con la resolución de impresión
+     *
+     * @param img Imagen del QR
+     * @param path Direccion del Disco
+     * @param dpi resolución que se guarda en el chunk pHYs, 0 para no
+     * guardarla
+     * @throws Exception Error al escribir en disco
+     */
+    public static void saveImage(BufferedImage img, String path, int dpi) throws Exception {
+        saveImage(img, path, dpi, QrPngWriter.Options.DEFAULT);
+    }
+
+    /**
+     * Guardar imagen en disco eligiendo la compresión del PNG. El PNG se
+     * codifica en memoria y se escribe de una vez, para medir por separado
+     * la codificación y el disco
+     *
+     * @param img Imagen del QR
+     * @param path Direccion del Disco
+     * @param dpi resolución que se guarda en el chunk pHYs, 0 para no
+     * guardarla
+     * @param options nivel de compresión y filtro del PNG
+     * @throws Exception Error al escribir en disco
+     */
+    public static void saveImage(BufferedImage img, String path, int dpi, QrPngWriter.Options options)
+            throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream(PNG_BUFFER);
+        QrPngWriter.write(img, dpi, options, png);
+
+        long start = QrMetrics.start();
+        File outputFile = new File(path);
+        outputFile.getParentFile().mkdirs();
+        try (OutputStream out = new FileOutputStream(outputFile)) {
+            png.writeTo(out);
+        }
+        QrMetrics.stop(QrMetrics.Stage.WRITE, start);
+        QrMetrics.count(QrMetrics.Counter.SAVED, 1);
+        QrMetrics.count(QrMetrics.Counter.BYTES_WRITTEN, png.size());
+    }
+
+    /**
+     * Codificar la imagen en PNG, con paleta si cabe y con el chunk pHYs si
+     * se indica la resolución. El flujo no se cierra
+     *
+     * @param img Imagen del QR
+     * @param dpi resolución en puntos por pulgada, 0 para no guardarla
+     * @param out destino
+     * @throws IOException Error al escribir
+     */
+    public static void writePng(BufferedImage img, int dpi, OutputStream out) throws IOException {
+        QrPngWriter.write(img, dpi, QrPngWriter.Options.DEFAULT, out);
+    }
+
+    /**
+     * Guardar el QR en vectorial, SVG o PDF según la extensión de la ruta,
+     * directamente desde la matriz de módulos y sin generar la imagen. El
+     * logo no se incluye
+     *
+     * @param content Datos del QR
+     * @param front color ARGB de los datos de la matriz
+     * @param back color ARGB del fondo del QR
+     * @param eyeshape Forma de las esquinas del QR elegida
+     * @param size lado del documento, en pixeles para SVG y en puntos para
+     * PDF
+     * @param path Direccion del Disco, terminada en .svg o .pdf
+     * @throws Exception Error al codificar el contenido o al escribir en disco
+     */
+    public static void saveVector(String content, int front, int back, EyeShape eyeshape, int size, String path)
+            throws Exception {
+        QRCode code = RENDERER.encode(content);
+        long start = QrMetrics.start();
+        File outputFile = new File(path);
+        outputFile.getParentFile().mkdirs();
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+            if (path.toLowerCase(Locale.ROOT).endsWith(".pdf")) {
+                QrPdfWriter.write(code, size, QrRenderer.DEFAULT_MARGIN, eyeshape, front, back, out);
+            } else {
+                QrSvgWriter.write(code, size, QrRenderer.DEFAULT_MARGIN, eyeshape, front, back, out);
+            }
+        }
+        QrMetrics.stop(QrMetrics.Stage.VECTOR, start);
+        QrMetrics.count(QrMetrics.Counter.SAVED, 1);
+        QrMetrics.count(QrMetrics.Counter.BYTES_WRITTEN, outputFile.length());
+    }
+
+    /**
+     * Guardar el QR en varios tamaños y formatos a partir de una sola
+     * codificación (nombre@1x.png, nombre@4x.png, nombre.svg...)
+     *
+     * @param spec descripción del QR al tamaño base
+     * @param dir carpeta de destino
+     * @param name nombre del conjunto, sin extensión
+     * @param targets salidas a generar
+     * @return rutas de los ficheros escritos
+     * @throws Exception Error al codificar el contenido o al escribir en disco
+     */
+    public static List<Path> exportSet(QrRenderSpec spec, Path dir, String name, List<QrExporter.Target> targets)
+            throws Exception {
+        return EXPORTER.export(spec, dir, name, targets);
+    }
+
+    /**
+     * Construir path de salida hacia descargas
+     *
+     * @param name Nombre del archivo
+     * @return La dirección donde se colocará
+     */
+    private static String buildOutputPath(String name) {
+        String userHome = System.getProperty("user.home");
+        File defaultDir = new File(userHome, "Downloads");
+        return defaultDir + File.separator + name.trim() + ".png";
+    }
+
+}
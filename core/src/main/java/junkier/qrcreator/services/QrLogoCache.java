@@ -0,0 +1,153 @@
+package junkier.qrcreator.services;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+/**
+ * Caché de logos. Cada logo se decodifica una sola vez por versión (fecha de
+ * modificación del fichero) y se guardan ya compuestas sus cajas, es decir el
+ * logo escalado sobre el fondo sólido, por tamaño de caja y color de fondo.
+ * Si el fichero cambia se vuelve a leer; las cajas de la versión anterior ya
+ * no se piden y salen por antigüedad
+ *
+ * Logos y cajas van en dos LRU con peso, y entre las dos no pasan de
+ * {@link #MAX_BYTES}: una caja de un QR de 4096 pixeles pesa casi 2 MB y no
+ * puede quedar fuera de la cuenta
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.2
+ */
+public class QrLogoCache {
+
+    private static final int MAX_LOGOS = 16;
+    private static final long MAX_BYTES = 64L * 1024 * 1024;
+    private static final long MAX_LOGO_BYTES = MAX_BYTES / 2;
+    private static final int MAX_VARIANTS = 8;
+    // Margen del logo dentro de su caja, como fracción del lado, para que el
+    // logo ocupe la misma parte del QR a cualquier tamaño
+    private static final int PADDING_DIVISOR = 10;
+    /**
+     * Lado mínimo de la caja; por debajo el logo no se distingue y no se pone
+     */
+    public static final int MIN_BOX_SIZE = 12;
+
+    private static final QrLruCache<String, Entry> LOGOS = new QrLruCache<>(MAX_LOGOS, MAX_LOGO_BYTES,
+            Entry::weight);
+    private static final QrLruCache<BoxKey, BufferedImage> BOXES = new QrLruCache<>(MAX_LOGOS * MAX_VARIANTS,
+            MAX_BYTES - MAX_LOGO_BYTES, QrLogoCache::weight);
+
+    private record BoxKey(String id, long version, int size, int background) {
+    }
+
+    /**
+     * Logo decodificado y la versión de la que sale
+     */
+    private record Entry(long version, BufferedImage logo) {
+
+        private long weight() {
+            return QrLogoCache.weight(logo);
+        }
+    }
+
+    /**
+     * Devuelve la caja del logo para el tamaño y el fondo pedidos. La imagen
+     * se comparte entre llamadas y no se debe modificar
+     *
+     * @param source origen del logo
+     * @param boxSize lado de la caja en pixeles
+     * @param background color ARGB del fondo de la caja
+     * @return la caja con el logo centrado, o null si la caja es menor que
+     * {@link #MIN_BOX_SIZE} y el QR debe quedar sin logo
+     * @throws IOException Error al leer el logo
+     */
+    public static BufferedImage logoBox(QrLogoSource source, int boxSize, int background) throws IOException {
+        if (boxSize < MIN_BOX_SIZE) {
+            return null;
+        }
+        long version = source.version();
+        BoxKey key = new BoxKey(source.id(), version, boxSize, background);
+        BufferedImage box = BOXES.get(key);
+        if (box != null) {
+            return box;
+        }
+
+        Entry entry = LOGOS.get(source.id());
+        if (entry == null || entry.version() != version) {
+            entry = new Entry(version, source.load());
+            LOGOS.put(source.id(), entry);
+        }
+        box = buildLogoBox(entry.logo(), boxSize, new Color(background, true));
+        BOXES.put(key, box);
+        return box;
+    }
+
+    /**
+     * @return aciertos, fallos y descartes de los logos decodificados
+     */
+    public static QrLruCache.Stats stats() {
+        return LOGOS.stats();
+    }
+
+    /**
+     * @return aciertos, fallos y descartes de las cajas compuestas
+     */
+    public static QrLruCache.Stats boxStats() {
+        return BOXES.stats();
+    }
+
+    public static void clear() {
+        LOGOS.clear();
+        BOXES.clear();
+    }
+
+    private static long weight(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    /**
+     * Componer la caja del logo: fondo sólido del color del QR y logo
+     * escalado y centrado
+     *
+     * @param logo Imagen del logo
+     * @param maxLogoSize lado de la caja
+     * @param bg Color del fondo
+     * @return la caja compuesta
+     */
+    private static BufferedImage buildLogoBox(BufferedImage logo, int maxLogoSize, Color bg) {
+        int padding = maxLogoSize / PADDING_DIVISOR;
+        int availableSize = Math.max(1, maxLogoSize - 2 * padding);
+
+        float scaleFactor = Math.min(
+                (float) availableSize / logo.getWidth(),
+                (float) availableSize / logo.getHeight()
+        );
+
+        // Un logo muy alargado no puede quedar en 0 pixeles de un lado
+        int scaledWidth = Math.max(1, Math.round(logo.getWidth() * scaleFactor));
+        int scaledHeight = Math.max(1, Math.round(logo.getHeight() * scaleFactor));
+
+        Image scaledLogo = logo.getScaledInstance(scaledWidth, scaledHeight, Image.SCALE_SMOOTH);
+
+        BufferedImage logoBox = new BufferedImage(maxLogoSize, maxLogoSize, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D gl = logoBox.createGraphics();
+        gl.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+        gl.setComposite(AlphaComposite.Src);
+        gl.setColor(bg);
+        gl.fillRect(0, 0, maxLogoSize, maxLogoSize);
+
+        gl.setComposite(AlphaComposite.SrcOver);
+        int xOffset = (maxLogoSize - scaledWidth) / 2;
+        int yOffset = (maxLogoSize - scaledHeight) / 2;
+        gl.drawImage(scaledLogo, xOffset, yOffset, null);
+        gl.dispose();
+
+        return logoBox;
+    }
+}
@@ -0,0 +1,121 @@
+package junkier.qrcreator.services;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import javax.imageio.ImageIO;
+
+/**
+ * Origen de la imagen central del QR, independiente del toolkit gráfico
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.1
+ */
+public interface QrLogoSource {
+
+    /**
+     * Carga la imagen del logo
+     *
+     * @return la imagen
+     * @throws IOException Error al leer el logo o formato no soportado
+     */
+    BufferedImage load() throws IOException;
+
+    /**
+     * Identidad estable del logo, para usarla como clave de cachés
+     *
+     * @return identificador del logo
+     */
+    String id();
+
+    /**
+     * Versión del logo, que cambia cuando cambia su contenido. Las cachés la
+     * comparan para descartar variantes obsoletas
+     *
+     * @return la versión, 0 si el logo no cambia nunca
+     */
+    default long version() {
+        return 0;
+    }
+
+    /**
+     * Logo leído de un fichero en disco
+     *
+     * @param path ruta del fichero
+     * @return el origen del logo
+     */
+    static QrLogoSource ofPath(Path path) {
+        return new FileLogo(path.toAbsolutePath().normalize());
+    }
+
+    /**
+     * Logo ya cargado en memoria
+     *
+     * @param id identificador estable del logo
+     * @param image imagen del logo
+     * @return el origen del logo
+     */
+    static QrLogoSource ofImage(String id, BufferedImage image) {
+        return new MemoryLogo(id, image);
+    }
+
+    /**
+     * Logo en disco
+     *
+     * @param path ruta absoluta del fichero
+     */
+    record FileLogo(Path path) implements QrLogoSource {
+
+        public FileLogo {
+            Objects.requireNonNull(path, "path");
+        }
+
+        @Override
+        public BufferedImage load() throws IOException {
+            BufferedImage logo = ImageIO.read(path.toFile());
+            if (logo == null) {
+                throw new IOException("Formato de logo no soportado: " + path);
+            }
+            return logo;
+        }
+
+        @Override
+        public String id() {
+            return path.toString();
+        }
+
+        /**
+         * @return fecha de modificación del fichero, o -1 si no se puede leer
+         */
+        @Override
+        public long version() {
+            try {
+                return Files.getLastModifiedTime(path).toMillis();
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Logo en memoria
+     *
+     * @param id identificador estable del logo
+     * @param image imagen del logo
+     */
+    record MemoryLogo(String id, BufferedImage image) implements QrLogoSource {
+
+        public MemoryLogo {
+            Objects.requireNonNull(id, "id");
+            Objects.requireNonNull(image, "image");
+        }
+
+        @Override
+        public BufferedImage load() {
+            return image;
+        }
+    }
+}
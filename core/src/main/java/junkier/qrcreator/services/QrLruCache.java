@@ -0,0 +1,121 @@
+package junkier.qrcreator.services;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Caché LRU acotada por número de entradas y por peso (bytes aproximados).
+ * Al superar cualquiera de los dos límites se descartan las entradas usadas
+ * hace más tiempo. Todas las operaciones están sincronizadas
+ *
+ * @param <K> tipo de la clave
+ * @param <V> tipo del valor
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.0
+ */
+public class QrLruCache<K, V> {
+
+    /**
+     * Contadores de la caché
+     *
+     * @param hits aciertos
+     * @param misses fallos
+     * @param evictions entradas descartadas por los límites
+     * @param entries entradas actuales
+     * @param weight peso actual
+     */
+    public record Stats(long hits, long misses, long evictions, int entries, long weight) {
+
+        @Override
+        public String toString() {
+            return String.format("aciertos: %d, fallos: %d, descartes: %d, entradas: %d, peso: %d",
+                    hits, misses, evictions, entries, weight);
+        }
+    }
+
+    private final LinkedHashMap<K, V> map = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxEntries;
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maxEntries número máximo de entradas
+     * @param maxWeight peso máximo total
+     * @param weigher función que calcula el peso de un valor
+     */
+    public QrLruCache(int maxEntries, long maxWeight, ToLongFunction<? super V> weigher) {
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * @param key clave buscada
+     * @return el valor, o null si no está
+     */
+    public synchronized V get(K key) {
+        V value = map.get(key);
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    /**
+     * Guarda un valor. Si por sí solo supera el peso máximo no se guarda
+     *
+     * @param key clave
+     * @param value valor
+     */
+    public synchronized void put(K key, V value) {
+        long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > maxWeight) {
+            return;
+        }
+        V previous = map.put(key, value);
+        if (previous != null) {
+            weight -= weigher.applyAsLong(previous);
+        }
+        weight += valueWeight;
+
+        Iterator<Map.Entry<K, V>> eldest = map.entrySet().iterator();
+        while ((map.size() > maxEntries || weight > maxWeight) && eldest.hasNext()) {
+            Map.Entry<K, V> entry = eldest.next();
+            weight -= weigher.applyAsLong(entry.getValue());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Descarta una entrada
+     *
+     * @param key clave
+     */
+    public synchronized void remove(K key) {
+        V previous = map.remove(key);
+        if (previous != null) {
+            weight -= weigher.applyAsLong(previous);
+        }
+    }
+
+    public synchronized void clear() {
+        map.clear();
+        weight = 0;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, map.size(), weight);
+    }
+}
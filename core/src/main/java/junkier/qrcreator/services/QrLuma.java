@@ -0,0 +1,226 @@
+package junkier.qrcreator.services;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.awt.image.WritableRaster;
+import java.util.ArrayDeque;
+
+/**
+ * Imagen en escala de grises, un byte por pixel, con las operaciones que
+ * necesita la lectura por niveles: reducir a la mitad y localizar la zona
+ * con más contraste, donde probablemente está el QR
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.1
+ */
+final class QrLuma {
+
+    private static final int ROI_TILE = 8;
+    private static final int ROI_MIN_RANGE = 64;
+    private static final int ROI_MARGIN_TILES = 2;
+
+    final byte[] data;
+    final int width;
+    final int height;
+
+    QrLuma(byte[] data, int width, int height) {
+        this.data = data;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Convertir a grises con la misma fórmula que el lector de ZXing, que
+     * toma los pixeles totalmente transparentes como blancos. Los tipos más
+     * comunes se leen directamente del raster, sin pasar por el modelo de
+     * color
+     *
+     * @param image imagen de entrada
+     * @return la luminancia
+     */
+    static QrLuma of(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (image.getType() == BufferedImage.TYPE_BYTE_GRAY) {
+            byte[] gray = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+            if (gray.length == width * height) {
+                return new QrLuma(gray.clone(), width, height);
+            }
+        }
+
+        byte[] data = new byte[width * height];
+        WritableRaster raster = image.getRaster();
+        switch (image.getType()) {
+            case BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB -> {
+                boolean alpha = image.getType() == BufferedImage.TYPE_INT_ARGB;
+                int[] row = new int[width];
+                for (int y = 0; y < height; y++) {
+                    raster.getDataElements(0, y, width, 1, row);
+                    int offset = y * width;
+                    for (int x = 0; x < width; x++) {
+                        data[offset + x] = luminance(alpha ? row[x] : row[x] | 0xFF000000);
+                    }
+                }
+            }
+            case BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_4BYTE_ABGR -> {
+                int bands = raster.getNumBands();
+                byte[] row = new byte[width * bands];
+                for (int y = 0; y < height; y++) {
+                    raster.getDataElements(0, y, width, 1, row);
+                    int offset = y * width;
+                    for (int x = 0, i = 0; x < width; x++, i += bands) {
+                        if (bands == 4 && row[i + 3] == 0) {
+                            data[offset + x] = (byte) 0xFF;
+                        } else {
+                            data[offset + x] = (byte) ((306 * (row[i] & 0xFF) + 601 * (row[i + 1] & 0xFF)
+                                    + 117 * (row[i + 2] & 0xFF) + 0x200) >> 10);
+                        }
+                    }
+                }
+            }
+            case BufferedImage.TYPE_BYTE_INDEXED -> {
+                // una luminancia por entrada de la paleta
+                IndexColorModel model = (IndexColorModel) image.getColorModel();
+                int[] colors = new int[model.getMapSize()];
+                model.getRGBs(colors);
+                byte[] lut = new byte[256];
+                for (int i = 0; i < colors.length; i++) {
+                    lut[i] = luminance(colors[i]);
+                }
+                byte[] row = new byte[width];
+                for (int y = 0; y < height; y++) {
+                    raster.getDataElements(0, y, width, 1, row);
+                    int offset = y * width;
+                    for (int x = 0; x < width; x++) {
+                        data[offset + x] = lut[row[x] & 0xFF];
+                    }
+                }
+            }
+            default -> {
+                int[] row = new int[width];
+                for (int y = 0; y < height; y++) {
+                    image.getRGB(0, y, width, 1, row, 0, width);
+                    int offset = y * width;
+                    for (int x = 0; x < width; x++) {
+                        data[offset + x] = luminance(row[x]);
+                    }
+                }
+            }
+        }
+        return new QrLuma(data, width, height);
+    }
+
+    private static byte luminance(int pixel) {
+        if ((pixel >>> 24) == 0) {
+            return (byte) 0xFF;
+        }
+        return (byte) ((306 * ((pixel >> 16) & 0xFF) + 601 * ((pixel >> 8) & 0xFF) + 117 * (pixel & 0xFF) + 0x200) >> 10);
+    }
+
+    /**
+     * @return la imagen a la mitad, promediando bloques de 2x2
+     */
+    QrLuma half() {
+        int w = width / 2;
+        int h = height / 2;
+        byte[] out = new byte[w * h];
+        for (int y = 0; y < h; y++) {
+            int top = 2 * y * width;
+            int bottom = top + width;
+            int offset = y * w;
+            for (int x = 0; x < w; x++) {
+                int sum = (data[top + 2 * x] & 0xFF) + (data[top + 2 * x + 1] & 0xFF)
+                        + (data[bottom + 2 * x] & 0xFF) + (data[bottom + 2 * x + 1] & 0xFF);
+                out[offset + x] = (byte) ((sum + 2) >> 2);
+            }
+        }
+        return new QrLuma(out, w, h);
+    }
+
+    /**
+     * Localizar la zona de interés: el mayor grupo conexo de celdas de 8x8
+     * con contraste alto, ampliado con un margen
+     *
+     * @return {x, y, ancho, alto} en pixeles de esta imagen, o null si no
+     * hay una zona clara o casi ocupa la imagen entera
+     */
+    int[] regionOfInterest() {
+        int cols = width / ROI_TILE;
+        int rows = height / ROI_TILE;
+        if (cols < 4 || rows < 4) {
+            return null;
+        }
+        boolean[] busy = new boolean[cols * rows];
+        for (int ty = 0; ty < rows; ty++) {
+            for (int tx = 0; tx < cols; tx++) {
+                int min = 0xFF;
+                int max = 0;
+                for (int y = ty * ROI_TILE; y < (ty + 1) * ROI_TILE; y++) {
+                    int offset = y * width + tx * ROI_TILE;
+                    for (int x = 0; x < ROI_TILE; x++) {
+                        int value = data[offset + x] & 0xFF;
+                        min = Math.min(min, value);
+                        max = Math.max(max, value);
+                    }
+                }
+                busy[ty * cols + tx] = max - min >= ROI_MIN_RANGE;
+            }
+        }
+
+        int[] best = null;
+        int bestSize = 0;
+        boolean[] seen = new boolean[busy.length];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int start = 0; start < busy.length; start++) {
+            if (!busy[start] || seen[start]) {
+                continue;
+            }
+            int minX = cols;
+            int minY = rows;
+            int maxX = -1;
+            int maxY = -1;
+            int size = 0;
+            seen[start] = true;
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                int tile = queue.poll();
+                int tx = tile % cols;
+                int ty = tile / cols;
+                size++;
+                minX = Math.min(minX, tx);
+                maxX = Math.max(maxX, tx);
+                minY = Math.min(minY, ty);
+                maxY = Math.max(maxY, ty);
+                for (int[] step : new int[][]{{1, 0}, {-1, 0}, {0, 1}, {0, -1}}) {
+                    int nx = tx + step[0];
+                    int ny = ty + step[1];
+                    if (nx >= 0 && nx < cols && ny >= 0 && ny < rows) {
+                        int next = ny * cols + nx;
+                        if (busy[next] && !seen[next]) {
+                            seen[next] = true;
+                            queue.add(next);
+                        }
+                    }
+                }
+            }
+            if (size > bestSize) {
+                bestSize = size;
+                best = new int[]{minX, minY, maxX, maxY};
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+
+        int x0 = Math.max(0, (best[0] - ROI_MARGIN_TILES) * ROI_TILE);
+        int y0 = Math.max(0, (best[1] - ROI_MARGIN_TILES) * ROI_TILE);
+        int x1 = Math.min(width, (best[2] + 1 + ROI_MARGIN_TILES) * ROI_TILE);
+        int y1 = Math.min(height, (best[3] + 1 + ROI_MARGIN_TILES) * ROI_TILE);
+        if ((long) (x1 - x0) * (y1 - y0) * 10 > (long) width * height * 6) {
+            return null;
+        }
+        return new int[]{x0, y0, x1 - x0, y1 - y0};
+    }
+}
@@ -0,0 +1,440 @@
+package junkier.qrcreator.services;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Métricas del generador y del lector: latencia por etapa en histogramas de
+ * cubetas fijas, contadores de producción y errores por causa. Se leen con
+ * {@link #snapshot()}, en texto con {@link #text()} y por JMX como
+ * junkier.qrcreator:type=QrMetrics
+ *
+ * Vienen desactivadas salvo con -Dqrcreator.metrics=true o
+ * {@link #setEnabled(boolean)}. Desactivadas, cada punto de medida es la
+ * lectura de un volatile, sin llamar al reloj
+ *
+ * Uso: {@code long start = QrMetrics.start(); ... QrMetrics.stop(Stage.PNG, start);}
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.0
+ */
+public final class QrMetrics {
+
+    /**
+     * Etapas medidas
+     */
+    public enum Stage {
+        /**
+         * Contenido a matriz de módulos
+         */
+        ENCODE,
+        /**
+         * Módulos al buffer de pixeles
+         */
+        RASTER,
+        /**
+         * Forma de los ojos
+         */
+        EYES,
+        /**
+         * Lectura, escalado e inserción del logo
+         */
+        LOGO,
+        /**
+         * Codificación PNG
+         */
+        PNG,
+        /**
+         * Escritura SVG o PDF
+         */
+        VECTOR,
+        /**
+         * Escritura en disco
+         */
+        WRITE,
+        /**
+         * Lectura de una imagen de disco
+         */
+        LOAD,
+        /**
+         * Decodificación con ZXing
+         */
+        DECODE;
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Contadores de producción
+     */
+    public enum Counter {
+        GENERATED, SAVED, BYTES_WRITTEN, DECODED;
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Datos de una etapa en un momento dado
+     *
+     * @param count veces medida
+     * @param totalNanos tiempo total
+     * @param maxNanos la más lenta
+     * @param buckets medidas por cubeta, la última sin límite
+     */
+    public record StageStats(long count, long totalNanos, long maxNanos, long[] buckets) {
+
+        /**
+         * @return media en milisegundos, 0 si no hay medidas
+         */
+        public double meanMillis() {
+            return count == 0 ? 0 : totalNanos / (double) count / 1e6;
+        }
+
+        /**
+         * Percentil aproximado por el límite superior de su cubeta
+         *
+         * @param quantile entre 0 y 1, por ejemplo 0.99
+         * @return milisegundos, el máximo si cae en la última cubeta
+         */
+        public double percentileMillis(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS_MICROS.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(BUCKETS_MICROS[i] / 1e3, maxNanos / 1e6);
+                }
+            }
+            return maxNanos / 1e6;
+        }
+    }
+
+    /**
+     * Todas las métricas en un momento dado
+     *
+     * @param enabled si se están midiendo
+     * @param stages datos por etapa
+     * @param counters contadores de producción
+     * @param errors errores por operación y causa, "generate:WriterException"
+     */
+    public record Snapshot(boolean enabled, Map<Stage, StageStats> stages, Map<Counter, Long> counters,
+            Map<String, Long> errors) {
+
+        /**
+         * Instantánea en texto, una métrica por línea como /metrics del
+         * servidor
+         *
+         * @return el texto
+         */
+        public String toText() {
+            StringBuilder out = new StringBuilder();
+            out.append("qr_metrics_enabled ").append(enabled ? 1 : 0).append('\n');
+            for (Map.Entry<Counter, Long> counter : counters.entrySet()) {
+                out.append("qr_").append(counter.getKey().label()).append(' ').append(counter.getValue()).append('\n');
+            }
+            for (Map.Entry<Stage, StageStats> entry : stages.entrySet()) {
+                String stage = "{stage=\"" + entry.getKey().label() + "\"}";
+                StageStats stats = entry.getValue();
+                out.append("qr_stage_count").append(stage).append(' ').append(stats.count()).append('\n');
+                out.append("qr_stage_avg_ms").append(stage).append(' ').append(format(stats.meanMillis())).append('\n');
+                out.append("qr_stage_p50_ms").append(stage).append(' ')
+                        .append(format(stats.percentileMillis(0.5))).append('\n');
+                out.append("qr_stage_p99_ms").append(stage).append(' ')
+                        .append(format(stats.percentileMillis(0.99))).append('\n');
+                out.append("qr_stage_max_ms").append(stage).append(' ').append(format(stats.maxNanos() / 1e6))
+                        .append('\n');
+                for (int i = 0; i < stats.buckets().length; i++) {
+                    String lt = i < BUCKETS_MICROS.length ? String.valueOf(BUCKETS_MICROS[i]) : "+Inf";
+                    out.append("qr_stage_us_bucket{stage=\"").append(entry.getKey().label()).append("\",lt=\"")
+                            .append(lt).append("\"} ").append(stats.buckets()[i]).append('\n');
+                }
+            }
+            for (Map.Entry<String, Long> error : errors.entrySet()) {
+                out.append("qr_errors{cause=\"").append(error.getKey()).append("\"} ").append(error.getValue())
+                        .append('\n');
+            }
+            return out.toString();
+        }
+
+        private static String format(double value) {
+            return String.format(Locale.ROOT, "%.3f", value);
+        }
+    }
+
+    /**
+     * Límites superiores de las cubetas de latencia, en microsegundos
+     */
+    private static final long[] BUCKETS_MICROS = {10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000,
+        25_000, 50_000, 100_000, 250_000, 500_000, 1_000_000};
+
+    private static final String OBJECT_NAME = "junkier.qrcreator:type=QrMetrics";
+
+    private static volatile boolean enabled;
+    private static boolean registered;
+
+    private static final Histogram[] STAGES = new Histogram[Stage.values().length];
+    private static final LongAdder[] COUNTERS = new LongAdder[Counter.values().length];
+    private static final Map<String, LongAdder> ERRORS = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < STAGES.length; i++) {
+            STAGES[i] = new Histogram();
+        }
+        for (int i = 0; i < COUNTERS.length; i++) {
+            COUNTERS[i] = new LongAdder();
+        }
+        if (Boolean.getBoolean("qrcreator.metrics")) {
+            setEnabled(true);
+        }
+    }
+
+    private QrMetrics() {
+    }
+
+    /**
+     * Activar o desactivar las métricas. Al activarlas la primera vez se
+     * registran en JMX
+     *
+     * @param on si se mide
+     */
+    public static void setEnabled(boolean on) {
+        enabled = on;
+        if (on) {
+            registerMBean();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Empezar a medir una etapa
+     *
+     * @return el instante de inicio, o 0 si las métricas están desactivadas
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Terminar de medir una etapa
+     *
+     * @param stage etapa medida
+     * @param start lo que devolvió {@link #start()}; si es 0 no se mide
+     */
+    public static void stop(Stage stage, long start) {
+        if (start != 0) {
+            STAGES[stage.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Sumar a un contador
+     *
+     * @param counter contador
+     * @param amount cantidad
+     */
+    public static void count(Counter counter, long amount) {
+        if (enabled) {
+            COUNTERS[counter.ordinal()].add(amount);
+        }
+    }
+
+    /**
+     * Contar un error por operación y tipo de excepción
+     *
+     * @param operation operación que ha fallado, por ejemplo generate o
+     * read
+     * @param cause excepción que lo explica
+     */
+    public static void error(String operation, Throwable cause) {
+        if (enabled) {
+            String key = operation + ":" + cause.getClass().getSimpleName();
+            ERRORS.computeIfAbsent(key, k -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * @return copia de todas las métricas
+     */
+    public static Snapshot snapshot() {
+        Map<Stage, StageStats> stages = new EnumMap<>(Stage.class);
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, STAGES[stage.ordinal()].stats());
+        }
+        Map<Counter, Long> counters = new EnumMap<>(Counter.class);
+        for (Counter counter : Counter.values()) {
+            counters.put(counter, COUNTERS[counter.ordinal()].sum());
+        }
+        Map<String, Long> errors = new TreeMap<>();
+        ERRORS.forEach((key, value) -> errors.put(key, value.sum()));
+        return new Snapshot(enabled, Collections.unmodifiableMap(stages), Collections.unmodifiableMap(counters),
+                Collections.unmodifiableMap(errors));
+    }
+
+    /**
+     * @return las métricas en texto
+     */
+    public static String text() {
+        return snapshot().toText();
+    }
+
+    /**
+     * Poner todo a cero
+     */
+    public static void reset() {
+        for (Histogram histogram : STAGES) {
+            histogram.reset();
+        }
+        for (LongAdder counter : COUNTERS) {
+            counter.reset();
+        }
+        ERRORS.clear();
+    }
+
+    private static synchronized void registerMBean() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            // Sin JMX las métricas se siguen leyendo desde el proceso
+        }
+    }
+
+    /**
+     * Histograma de una etapa
+     */
+    private static final class Histogram {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder[] buckets = new LongAdder[BUCKETS_MICROS.length + 1];
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            if (nanos > maxNanos.get()) {
+                maxNanos.accumulateAndGet(nanos, Math::max);
+            }
+            long micros = nanos / 1_000;
+            int bucket = 0;
+            while (bucket < BUCKETS_MICROS.length && micros >= BUCKETS_MICROS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+        }
+
+        StageStats stats() {
+            long[] counts = new long[buckets.length];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets[i].sum();
+            }
+            return new StageStats(count.sum(), totalNanos.sum(), maxNanos.get(), counts);
+        }
+
+        void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.set(0);
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+        }
+    }
+
+    /**
+     * Vista JMX de las métricas
+     */
+    private static final class Bean implements QrMetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return QrMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            QrMetrics.setEnabled(enabled);
+        }
+
+        @Override
+        public Map<String, Long> getStageCounts() {
+            Map<String, Long> values = new TreeMap<>();
+            snapshot().stages().forEach((stage, stats) -> values.put(stage.label(), stats.count()));
+            return values;
+        }
+
+        @Override
+        public Map<String, Double> getStageMeanMillis() {
+            Map<String, Double> values = new TreeMap<>();
+            snapshot().stages().forEach((stage, stats) -> values.put(stage.label(), stats.meanMillis()));
+            return values;
+        }
+
+        @Override
+        public Map<String, Double> getStageP99Millis() {
+            Map<String, Double> values = new TreeMap<>();
+            snapshot().stages().forEach((stage, stats) -> values.put(stage.label(), stats.percentileMillis(0.99)));
+            return values;
+        }
+
+        @Override
+        public Map<String, Double> getStageMaxMillis() {
+            Map<String, Double> values = new TreeMap<>();
+            snapshot().stages().forEach((stage, stats) -> values.put(stage.label(), stats.maxNanos() / 1e6));
+            return values;
+        }
+
+        @Override
+        public Map<String, Long> getCounters() {
+            Map<String, Long> values = new TreeMap<>();
+            snapshot().counters().forEach((counter, value) -> values.put(counter.label(), value));
+            return values;
+        }
+
+        @Override
+        public Map<String, Long> getErrors() {
+            return snapshot().errors();
+        }
+
+        @Override
+        public String getTextSnapshot() {
+            return text();
+        }
+
+        @Override
+        public void reset() {
+            QrMetrics.reset();
+        }
+    }
+}
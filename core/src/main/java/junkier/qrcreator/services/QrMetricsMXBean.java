@@ -0,0 +1,40 @@
+package junkier.qrcreator.services;
+
+import java.util.Map;
+
+/**
+ * Interfaz JMX de {@link QrMetrics}. Las etapas van por nombre en minúsculas
+ * (encode, raster, eyes, logo, png, vector, write, load, decode)
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.0
+ */
+public interface QrMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    Map<String, Long> getStageCounts();
+
+    Map<String, Double> getStageMeanMillis();
+
+    Map<String, Double> getStageP99Millis();
+
+    Map<String, Double> getStageMaxMillis();
+
+    Map<String, Long> getCounters();
+
+    /**
+     * @return errores por operación y causa, "generate:WriterException"
+     */
+    Map<String, Long> getErrors();
+
+    /**
+     * @return las mismas líneas que /metrics
+     */
+    String getTextSnapshot();
+
+    void reset();
+}
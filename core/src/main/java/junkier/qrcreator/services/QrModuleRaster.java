@@ -0,0 +1,162 @@
+package junkier.qrcreator.services;
+
+import com.google.zxing.qrcode.encoder.QRCode;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.nio.IntBuffer;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+
+/**
+ * Rejilla de módulos ya rasterizada, con los ojos transformados, guardada
+ * como índices de paleta de un byte por pixel (0 fondo, 1 módulo). Los
+ * colores no forman parte de la rejilla: cada imagen se monta con un
+ * {@link IndexColorModel} de dos entradas sobre el mismo raster, así que
+ * cambiar solo los colores no vuelve a codificar, ni a rasterizar, ni a
+ * tocar un solo pixel
+ *
+ * Las imágenes devueltas por {@link #image(int, int)} comparten el raster y
+ * no se deben modificar
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.3
+ */
+public final class QrModuleRaster {
+
+    /**
+     * Todo lo que define la rejilla; los colores y el logo quedan fuera
+     *
+     * @param content Datos del QR
+     * @param size tamaño en pixeles
+     * @param margin zona de silencio en módulos
+     * @param eyeShape Forma de las esquinas
+     */
+    public record Key(String content, int size, int margin, EyeShape eyeShape) {
+
+        public static Key of(QrRenderSpec spec) {
+            return new Key(spec.content(), spec.size(), spec.margin(), spec.eyeShape());
+        }
+    }
+
+    private static final byte BACK = 0;
+    private static final byte FRONT = 1;
+
+    private final WritableRaster raster;
+
+    private QrModuleRaster(WritableRaster raster) {
+        this.raster = raster;
+    }
+
+    /**
+     * Rasterizar el símbolo con sus ojos a índices de paleta
+     *
+     * @param code símbolo codificado
+     * @param size tamaño de la imagen en pixeles
+     * @param margin zona de silencio en módulos
+     * @param eyeShape Forma de las esquinas del QR elegida
+     * @return la rejilla
+     */
+    public static QrModuleRaster of(QRCode code, int size, int margin, EyeShape eyeShape) {
+        QrRenderEngine.Layout layout = QrRenderEngine.Layout.of(code.getMatrix().getWidth(), size, margin);
+        byte[] data = QrRenderEngine.renderIndices(code, layout, eyeShape, FRONT, BACK);
+        int width = layout.size();
+        WritableRaster raster = Raster.createInterleavedRaster(new DataBufferByte(data, data.length), width,
+                width, width, 1, new int[]{0}, null);
+        return new QrModuleRaster(raster);
+    }
+
+    /**
+     * @return pixeles por lado
+     */
+    public int size() {
+        return raster.getWidth();
+    }
+
+    /**
+     * Imagen indexada con los colores pedidos. Solo se crea la paleta; los
+     * pixeles son los de la rejilla
+     *
+     * @param front color ARGB de los módulos oscuros
+     * @param back color ARGB del fondo
+     * @return imagen TYPE_BYTE_INDEXED que comparte el raster
+     */
+    public BufferedImage image(int front, int back) {
+        IndexColorModel palette = new IndexColorModel(8, 2, new int[]{back, front}, 0, true, -1,
+                DataBuffer.TYPE_BYTE);
+        return new BufferedImage(palette, raster, false, null);
+    }
+
+    /**
+     * Copia ARGB con los colores pedidos, para quien necesite pintar encima
+     * (el logo)
+     *
+     * @param front color ARGB de los módulos oscuros
+     * @param back color ARGB del fondo
+     * @return imagen TYPE_INT_ARGB nueva
+     */
+    public BufferedImage argb(int front, int back) {
+        byte[] data = ((DataBufferByte) raster.getDataBuffer()).getData();
+        BufferedImage qr = new BufferedImage(raster.getWidth(), raster.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) qr.getRaster().getDataBuffer()).getData();
+        for (int i = 0; i < data.length; i++) {
+            pixels[i] = data[i] == FRONT ? front : back;
+        }
+        return qr;
+    }
+
+    /**
+     * Copia en escala de grises, un byte por pixel, para decodificar con
+     * ZXing sin pasar por una imagen ARGB
+     *
+     * @param front luminancia de los módulos oscuros, de 0 a 255
+     * @param back luminancia del fondo, de 0 a 255
+     * @return los pixeles fila a fila, de size() x size()
+     */
+    public byte[] gray(int front, int back) {
+        byte[] data = ((DataBufferByte) raster.getDataBuffer()).getData();
+        byte[] gray = new byte[data.length];
+        for (int i = 0; i < data.length; i++) {
+            gray[i] = (byte) (data[i] == FRONT ? front : back);
+        }
+        return gray;
+    }
+
+    /**
+     * Volcar una región de la rejilla en un buffer de enteros del mismo
+     * tamaño, traduciendo cada índice a su valor. Sirve para pintar en un
+     * buffer ajeno (el del preview) sin pasar por una imagen intermedia
+     *
+     * @param target buffer de size() x size() enteros, fila a fila
+     * @param front valor de los módulos oscuros
+     * @param back valor del fondo
+     * @param x columna de la región
+     * @param y fila de la región
+     * @param width ancho de la región
+     * @param height alto de la región
+     */
+    public void copyTo(IntBuffer target, int front, int back, int x, int y, int width, int height) {
+        byte[] data = ((DataBufferByte) raster.getDataBuffer()).getData();
+        int stride = raster.getWidth();
+        int[] row = new int[width];
+        for (int r = y; r < y + height; r++) {
+            int offset = r * stride + x;
+            for (int i = 0; i < width; i++) {
+                row[i] = data[offset + i] == FRONT ? front : back;
+            }
+            target.put(offset, row, 0, width);
+        }
+    }
+
+    /**
+     * @return memoria aproximada en bytes
+     */
+    public long weight() {
+        return (long) raster.getWidth() * raster.getHeight();
+    }
+}
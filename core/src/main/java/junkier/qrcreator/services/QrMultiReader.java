@@ -0,0 +1,200 @@
+package junkier.qrcreator.services;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.PlanarYUVLuminanceSource;
+import com.google.zxing.Result;
+import com.google.zxing.ResultPoint;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.multi.GenericMultipleBarcodeReader;
+import com.google.zxing.multi.qrcode.QRCodeMultiReader;
+import com.google.zxing.qrcode.QRCodeReader;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lectura de todos los QR de una imagen, por ejemplo una hoja de inventario
+ * escaneada. Las páginas grandes se parten en cuadros solapados que se leen
+ * en paralelo con {@link QRCodeMultiReader}, y con
+ * {@link GenericMultipleBarcodeReader} en los cuadros donde no encuentra
+ * nada; los QR que aparecen en varios cuadros se quedan en uno solo
+ *
+ * Un QR se lee entero si cabe en el solape, así que el solape tiene que ser
+ * al menos el lado del QR más grande de la página
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.0
+ */
+public class QrMultiReader {
+
+    public static final int DEFAULT_TILE = 1600;
+    public static final int DEFAULT_OVERLAP = 600;
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "qr-multi-" + COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final int tile;
+    private final int overlap;
+    private final Map<DecodeHintType, Object> hints;
+
+    public QrMultiReader() {
+        this(DEFAULT_TILE, DEFAULT_OVERLAP, false);
+    }
+
+    /**
+     * @param tile lado de los cuadros en pixeles
+     * @param overlap solape entre cuadros vecinos, menor que el lado
+     * @param tryHarder si ZXing busca más a fondo, más lento
+     */
+    public QrMultiReader(int tile, int overlap, boolean tryHarder) {
+        if (overlap >= tile) {
+            throw new IllegalArgumentException("El solape tiene que ser menor que el cuadro");
+        }
+        this.tile = tile;
+        this.overlap = overlap;
+        this.hints = QrReadService.hints(tryHarder);
+    }
+
+    /**
+     * Leer todos los QR de la imagen
+     *
+     * @param image imagen de la página
+     * @return los QR encontrados, con sus puntos en coordenadas de la
+     * imagen, vacía si no hay ninguno
+     * @throws InterruptedException Si se interrumpe la espera de los cuadros
+     */
+    public List<Result> decodeAll(BufferedImage image) throws InterruptedException {
+        QrLuma luma = QrLuma.of(image);
+        List<int[]> tiles = tiles(luma.width, luma.height);
+
+        List<Result> found = new ArrayList<>();
+        if (tiles.size() == 1) {
+            found.addAll(decodeTile(luma, tiles.get(0)));
+        } else {
+            List<Future<List<Result>>> futures = new ArrayList<>(tiles.size());
+            for (int[] region : tiles) {
+                futures.add(POOL.submit(() -> decodeTile(luma, region)));
+            }
+            try {
+                for (Future<List<Result>> future : futures) {
+                    found.addAll(future.get());
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                futures.forEach(future -> future.cancel(true));
+            }
+        }
+        return deduplicate(found);
+    }
+
+    /**
+     * Cuadros solapados que cubren la imagen, {x, y, ancho, alto}
+     */
+    private List<int[]> tiles(int width, int height) {
+        List<int[]> tiles = new ArrayList<>();
+        int step = tile - overlap;
+        for (int y = 0; ; y += step) {
+            int h = Math.min(tile, height - y);
+            for (int x = 0; ; x += step) {
+                int w = Math.min(tile, width - x);
+                tiles.add(new int[]{x, y, w, h});
+                if (x + w >= width) {
+                    break;
+                }
+            }
+            if (y + h >= height) {
+                break;
+            }
+        }
+        return tiles;
+    }
+
+    private List<Result> decodeTile(QrLuma luma, int[] region) {
+        PlanarYUVLuminanceSource source = new PlanarYUVLuminanceSource(luma.data, luma.width, luma.height,
+                region[0], region[1], region[2], region[3], false);
+        BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(source));
+
+        List<Result> results = new ArrayList<>();
+        try {
+            for (Result result : new QRCodeMultiReader().decodeMultiple(bitmap, hints)) {
+                results.add(QrReadService.translate(result, region[0], region[1], 1));
+            }
+        } catch (NotFoundException e) {
+            // lo intenta el lector genérico, que parte el cuadro alrededor de lo que lee
+        }
+        if (!results.isEmpty()) {
+            return results;
+        }
+        try {
+            for (Result result : new GenericMultipleBarcodeReader(new QRCodeReader()).decodeMultiple(bitmap, hints)) {
+                results.add(QrReadService.translate(result, region[0], region[1], 1));
+            }
+        } catch (NotFoundException e) {
+            // ningún QR en este cuadro
+        }
+        return results;
+    }
+
+    /**
+     * Quitar los QR repetidos: mismo texto y centros más cerca que medio
+     * lado del QR
+     */
+    private static List<Result> deduplicate(List<Result> found) {
+        List<Result> unique = new ArrayList<>();
+        List<float[]> geometry = new ArrayList<>();
+        for (Result result : found) {
+            float[] shape = geometry(result.getResultPoints());
+            boolean repeated = false;
+            for (int i = 0; i < unique.size() && !repeated; i++) {
+                float[] other = geometry.get(i);
+                float dx = shape[0] - other[0];
+                float dy = shape[1] - other[1];
+                float radius = Math.max(shape[2], other[2]) / 2;
+                repeated = unique.get(i).getText().equals(result.getText()) && dx * dx + dy * dy <= radius * radius;
+            }
+            if (!repeated) {
+                unique.add(result);
+                geometry.add(shape);
+            }
+        }
+        return unique;
+    }
+
+    /**
+     * @return {centro x, centro y, lado aproximado} a partir de los puntos
+     */
+    private static float[] geometry(ResultPoint[] points) {
+        float minX = Float.MAX_VALUE;
+        float minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE;
+        float maxY = -Float.MAX_VALUE;
+        for (ResultPoint point : points == null ? new ResultPoint[0] : points) {
+            if (point != null) {
+                minX = Math.min(minX, point.getX());
+                maxX = Math.max(maxX, point.getX());
+                minY = Math.min(minY, point.getY());
+                maxY = Math.max(maxY, point.getY());
+            }
+        }
+        if (minX > maxX) {
+            return new float[]{0, 0, 0};
+        }
+        return new float[]{(minX + maxX) / 2, (minY + maxY) / 2, Math.max(maxX - minX, maxY - minY)};
+    }
+}
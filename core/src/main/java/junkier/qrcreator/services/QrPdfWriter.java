@@ -0,0 +1,243 @@
+package junkier.qrcreator.services;
+
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.QRCode;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import junkier.qrcreator.services.QrRenderEngine.Layout;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+
+/**
+ * Escritor PDF del QR, una página con el QR en vectorial y el mismo trazado
+ * que el SVG. El documento se escribe de una pasada: la longitud del
+ * contenido comprimido va en un objeto aparte, detrás del propio contenido,
+ * así que no hace falta tenerlo entero en memoria
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.0
+ */
+public class QrPdfWriter {
+
+    private static final int CHUNK = 8192;
+    private static final int CATALOG = 1;
+    private static final int PAGES = 2;
+    private static final int PAGE = 3;
+    private static final int CONTENT = 4;
+    private static final int LENGTH = 5;
+
+    /**
+     * Escribir el QR como PDF. El flujo no se cierra
+     *
+     * @param code símbolo codificado
+     * @param size lado de la página en puntos (1/72 de pulgada)
+     * @param margin zona de silencio en módulos
+     * @param eyeshape Forma de las esquinas del QR elegida
+     * @param front color ARGB de los módulos oscuros
+     * @param back color ARGB del fondo, sin fondo si es transparente
+     * @param out destino del documento
+     * @throws IOException Error al escribir
+     */
+    public static void write(QRCode code, double size, int margin, EyeShape eyeshape, int front, int back, OutputStream out)
+            throws IOException {
+        ByteMatrix modules = code.getMatrix();
+        int dimension = modules.getWidth();
+        int total = dimension + margin * 2;
+        boolean shaped = eyeshape != null && eyeshape != EyeShape.SQUARE;
+        List<int[]> eyes = shaped ? QrEyeLocator.locate(new Layout(dimension, 1, 0, dimension)) : List.of();
+
+        CountingStream pdf = new CountingStream(out);
+        List<Long> offsets = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        text.append("%PDF-1.4\n%âãÏÓ\n");
+        pdf.write(text);
+
+        offsets.add(pdf.count);
+        text.append(CATALOG).append(" 0 obj\n<</Type/Catalog/Pages ").append(PAGES).append(" 0 R>>\nendobj\n");
+        pdf.write(text);
+        offsets.add(pdf.count);
+        text.append(PAGES).append(" 0 obj\n<</Type/Pages/Kids[").append(PAGE).append(" 0 R]/Count 1>>\nendobj\n");
+        pdf.write(text);
+        offsets.add(pdf.count);
+        text.append(PAGE).append(" 0 obj\n<</Type/Page/Parent ").append(PAGES).append(" 0 R/MediaBox[0 0 ");
+        QrVectorPaths.appendNumber(text, size);
+        text.append(' ');
+        QrVectorPaths.appendNumber(text, size);
+        text.append("]/Contents ").append(CONTENT).append(" 0 R/Resources<</ExtGState<</Back ");
+        opacity(text, back);
+        text.append("/Front ");
+        opacity(text, front);
+        text.append(">>>>>>\nendobj\n");
+        pdf.write(text);
+
+        offsets.add(pdf.count);
+        text.append(CONTENT).append(" 0 obj\n<</Length ").append(LENGTH).append(" 0 R/Filter/FlateDecode>>\nstream\n");
+        pdf.write(text);
+        long streamStart = pdf.count;
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        DeflaterOutputStream deflate = new DeflaterOutputStream(pdf, deflater, CHUNK);
+        PdfPath path = new PdfPath(deflate);
+
+        // Unidades de módulo con el origen arriba a la izquierda, como el SVG
+        double scale = size / total;
+        path.text("q ");
+        path.number(scale);
+        path.text(" 0 0 ");
+        path.number(-scale);
+        path.text(" 0 ");
+        path.number(size);
+        path.text(" cm\n");
+        if ((back >>> 24) != 0) {
+            path.text("/Back gs ");
+            path.color(back);
+            path.text("0 0 " + total + " " + total + " re f\n");
+        }
+        path.text("/Front gs ");
+        path.color(front);
+        QrVectorPaths.modules(modules, margin, eyes, path);
+        for (int[] eye : eyes) {
+            QrVectorPaths.eye(eyeshape, eye[0] + margin, eye[1] + margin, eye[2], path);
+        }
+        path.text("f\nQ\n");
+        path.flush();
+        deflate.finish();
+        deflater.end();
+        long streamLength = pdf.count - streamStart;
+
+        text.append("\nendstream\nendobj\n");
+        pdf.write(text);
+        offsets.add(pdf.count);
+        text.append(LENGTH).append(" 0 obj\n").append(streamLength).append("\nendobj\n");
+        pdf.write(text);
+
+        long xref = pdf.count;
+        text.append("xref\n0 ").append(offsets.size() + 1).append("\n0000000000 65535 f \n");
+        for (long offset : offsets) {
+            text.append(String.format(Locale.ROOT, "%010d 00000 n \n", offset));
+        }
+        text.append("trailer\n<</Size ").append(offsets.size() + 1).append("/Root ").append(CATALOG)
+                .append(" 0 R>>\nstartxref\n").append(xref).append("\n%%EOF\n");
+        pdf.write(text);
+        pdf.flush();
+    }
+
+    private static void opacity(StringBuilder text, int argb) {
+        text.append("<</ca ");
+        QrVectorPaths.appendNumber(text, (argb >>> 24) / 255.0);
+        text.append(">>");
+    }
+
+    /**
+     * Operadores de trazado del contenido de la página
+     */
+    private static final class PdfPath implements QrVectorPaths.PathSink {
+
+        private final OutputStream out;
+        private final StringBuilder buffer = new StringBuilder(CHUNK + 64);
+
+        PdfPath(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void moveTo(double x, double y) throws IOException {
+            point(x, y);
+            text(" m\n");
+        }
+
+        @Override
+        public void lineTo(double x, double y) throws IOException {
+            point(x, y);
+            text(" l\n");
+        }
+
+        @Override
+        public void curveTo(double x1, double y1, double x2, double y2, double x, double y) throws IOException {
+            point(x1, y1);
+            buffer.append(' ');
+            point(x2, y2);
+            buffer.append(' ');
+            point(x, y);
+            text(" c\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            text("h\n");
+        }
+
+        void color(int argb) {
+            number(((argb >> 16) & 0xFF) / 255.0);
+            buffer.append(' ');
+            number(((argb >> 8) & 0xFF) / 255.0);
+            buffer.append(' ');
+            number((argb & 0xFF) / 255.0);
+            buffer.append(" rg\n");
+        }
+
+        void number(double value) {
+            QrVectorPaths.appendNumber(buffer, value);
+        }
+
+        private void point(double x, double y) {
+            number(x);
+            buffer.append(' ');
+            number(y);
+        }
+
+        void text(String value) throws IOException {
+            buffer.append(value);
+            if (buffer.length() >= CHUNK) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            out.write(buffer.toString().getBytes(StandardCharsets.ISO_8859_1));
+            buffer.setLength(0);
+        }
+    }
+
+    /**
+     * Cuenta los bytes escritos para la tabla de referencias; no cierra el
+     * destino
+     */
+    private static final class CountingStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingStream(OutputStream out) {
+            super(out);
+        }
+
+        void write(StringBuilder text) throws IOException {
+            write(text.toString().getBytes(StandardCharsets.ISO_8859_1));
+            text.setLength(0);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,513 @@
+package junkier.qrcreator.services;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.IndexColorModel;
+import java.awt.image.WritableRaster;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Escritor PNG pensado para QR. Un QR sin logo tiene dos colores, así que se
+ * guarda con paleta de 1 bit en vez de ARGB de 32: el fichero es mucho más
+ * pequeño y hay mucho menos que comprimir. Con logo se usa la paleta más
+ * pequeña que quepa (2, 4 o 8 bits) y, si el logo tiene más de 256 colores,
+ * color verdadero sin pérdida
+ *
+ * La transparencia de los colores va en el chunk tRNS, y la resolución de
+ * impresión en pHYs
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.2
+ */
+public class QrPngWriter {
+
+    /**
+     * Filtro de filas de PNG. ADAPTIVE elige en cada fila el que deja los
+     * bytes más pequeños, más lento pero suele comprimir mejor con logo
+     */
+    public enum Filter {
+        NONE, SUB, UP, AVERAGE, PAETH, ADAPTIVE
+    }
+
+    /**
+     * Opciones de compresión
+     *
+     * @param level nivel de Deflater, de 0 (sin comprimir) a 9
+     * @param filter filtro de filas
+     */
+    public record Options(int level, Filter filter) {
+
+        /**
+         * Lo más rápido, para lotes grandes
+         */
+        public static final Options FAST = new Options(Deflater.BEST_SPEED, Filter.NONE);
+
+        /**
+         * Equilibrio entre tiempo y tamaño
+         */
+        public static final Options DEFAULT = new Options(Deflater.DEFAULT_COMPRESSION, Filter.UP);
+
+        /**
+         * Lo más pequeño
+         */
+        public static final Options SMALL = new Options(Deflater.BEST_COMPRESSION, Filter.ADAPTIVE);
+
+        public Options {
+            if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+                throw new IllegalArgumentException("Nivel de compresión fuera de rango: " + level);
+            }
+            if (filter == null) {
+                filter = Filter.NONE;
+            }
+        }
+    }
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int MAX_PALETTE = 256;
+    private static final int CHUNK = 64 * 1024;
+
+    private static final int COLOR_TRUECOLOR = 2;
+    private static final int COLOR_INDEXED = 3;
+    private static final int COLOR_TRUECOLOR_ALPHA = 6;
+
+    /**
+     * Escribir la imagen en PNG. El flujo no se cierra
+     *
+     * @param img Imagen del QR
+     * @param dpi resolución en puntos por pulgada, 0 para no guardarla
+     * @param options compresión y filtro
+     * @param out destino
+     * @throws IOException Error al escribir
+     */
+    public static void write(BufferedImage img, int dpi, Options options, OutputStream out) throws IOException {
+        long start = QrMetrics.start();
+        int width = img.getWidth();
+        int height = img.getHeight();
+        int[] pixels = argb(img);
+        Palette palette = Palette.of(pixels);
+
+        int colorType;
+        int bitDepth = 8;
+        int bytesPerPixel;
+        if (palette != null) {
+            colorType = COLOR_INDEXED;
+            bitDepth = palette.bitDepth();
+            bytesPerPixel = 1;
+        } else if (opaque(pixels)) {
+            colorType = COLOR_TRUECOLOR;
+            bytesPerPixel = 3;
+        } else {
+            colorType = COLOR_TRUECOLOR_ALPHA;
+            bytesPerPixel = 4;
+        }
+
+        DataOutputStream png = new DataOutputStream(out);
+        png.write(SIGNATURE);
+
+        ChunkBuffer header = new ChunkBuffer(13);
+        header.writeInt(width);
+        header.writeInt(height);
+        header.write(bitDepth);
+        header.write(colorType);
+        header.write(0);
+        header.write(0);
+        header.write(0);
+        header.writeTo(png, "IHDR");
+
+        if (palette != null) {
+            palette.writeTo(png);
+        }
+        if (dpi > 0) {
+            int pixelsPerMeter = (int) Math.round(dpi / 0.0254);
+            ChunkBuffer phys = new ChunkBuffer(9);
+            phys.writeInt(pixelsPerMeter);
+            phys.writeInt(pixelsPerMeter);
+            phys.write(1);
+            phys.writeTo(png, "pHYs");
+        }
+
+        int rowBytes = (width * bitDepth * bytesPerPixel + 7) / 8;
+        byte[] previous = new byte[rowBytes];
+        byte[] current = new byte[rowBytes];
+        byte[] filtered = new byte[rowBytes + 1];
+        byte[] candidate = options.filter() == Filter.ADAPTIVE ? new byte[rowBytes + 1] : null;
+
+        Deflater deflater = new Deflater(options.level());
+        try {
+            DeflaterOutputStream idat = new DeflaterOutputStream(new IdatStream(png), deflater, CHUNK);
+            for (int y = 0; y < height; y++) {
+                int offset = y * width;
+                if (palette != null) {
+                    palette.pack(pixels, offset, width, current);
+                } else {
+                    packTruecolor(pixels, offset, width, bytesPerPixel, current);
+                }
+
+                if (options.filter() == Filter.ADAPTIVE) {
+                    long best = Long.MAX_VALUE;
+                    for (Filter filter : Filter.values()) {
+                        if (filter == Filter.ADAPTIVE) {
+                            continue;
+                        }
+                        filter(filter, current, previous, bytesPerPixel, candidate);
+                        long cost = cost(candidate);
+                        if (cost < best) {
+                            best = cost;
+                            System.arraycopy(candidate, 0, filtered, 0, filtered.length);
+                        }
+                    }
+                } else {
+                    filter(options.filter(), current, previous, bytesPerPixel, filtered);
+                }
+                idat.write(filtered);
+
+                byte[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            idat.finish();
+            idat.flush();
+        } finally {
+            deflater.end();
+        }
+
+        new ChunkBuffer(0).writeTo(png, "IEND");
+        png.flush();
+        QrMetrics.stop(QrMetrics.Stage.PNG, start);
+    }
+
+    /**
+     * Pixeles ARGB de la imagen, sin copiar si ya es TYPE_INT_ARGB como las
+     * del renderizador. Las indexadas de {@link QrModuleRaster} se expanden
+     * con su paleta sin pasar pixel a pixel por el modelo de color
+     */
+    private static int[] argb(BufferedImage img) {
+        WritableRaster raster = img.getRaster();
+        if (img.getType() == BufferedImage.TYPE_INT_ARGB && raster.getDataBuffer() instanceof DataBufferInt
+                && raster.getParent() == null) {
+            return ((DataBufferInt) raster.getDataBuffer()).getData();
+        }
+        if (img.getType() == BufferedImage.TYPE_BYTE_INDEXED && raster.getDataBuffer() instanceof DataBufferByte data
+                && raster.getParent() == null && data.getSize() == img.getWidth() * img.getHeight()) {
+            IndexColorModel model = (IndexColorModel) img.getColorModel();
+            int[] lut = new int[256];
+            model.getRGBs(lut);
+            byte[] indices = data.getData();
+            int[] pixels = new int[indices.length];
+            for (int i = 0; i < indices.length; i++) {
+                pixels[i] = lut[indices[i] & 0xFF];
+            }
+            return pixels;
+        }
+        return img.getRGB(0, 0, img.getWidth(), img.getHeight(), null, 0, img.getWidth());
+    }
+
+    private static boolean opaque(int[] pixels) {
+        for (int pixel : pixels) {
+            if ((pixel >>> 24) != 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void packTruecolor(int[] pixels, int offset, int width, int bytesPerPixel, byte[] row) {
+        int i = 0;
+        for (int x = 0; x < width; x++) {
+            int pixel = pixels[offset + x];
+            row[i++] = (byte) (pixel >> 16);
+            row[i++] = (byte) (pixel >> 8);
+            row[i++] = (byte) pixel;
+            if (bytesPerPixel == 4) {
+                row[i++] = (byte) (pixel >>> 24);
+            }
+        }
+    }
+
+    /**
+     * Aplica el filtro a la fila; el primer byte de la salida es el tipo de
+     * filtro
+     */
+    private static void filter(Filter filter, byte[] row, byte[] previous, int bpp, byte[] out) {
+        out[0] = (byte) filter.ordinal();
+        int length = row.length;
+        switch (filter) {
+            case SUB -> {
+                for (int i = 0; i < length; i++) {
+                    int left = i >= bpp ? row[i - bpp] & 0xFF : 0;
+                    out[i + 1] = (byte) (row[i] - left);
+                }
+            }
+            case UP -> {
+                for (int i = 0; i < length; i++) {
+                    out[i + 1] = (byte) (row[i] - previous[i]);
+                }
+            }
+            case AVERAGE -> {
+                for (int i = 0; i < length; i++) {
+                    int left = i >= bpp ? row[i - bpp] & 0xFF : 0;
+                    out[i + 1] = (byte) (row[i] - ((left + (previous[i] & 0xFF)) >> 1));
+                }
+            }
+            case PAETH -> {
+                for (int i = 0; i < length; i++) {
+                    int left = i >= bpp ? row[i - bpp] & 0xFF : 0;
+                    int upLeft = i >= bpp ? previous[i - bpp] & 0xFF : 0;
+                    out[i + 1] = (byte) (row[i] - paeth(left, previous[i] & 0xFF, upLeft));
+                }
+            }
+            default ->
+                System.arraycopy(row, 0, out, 1, length);
+        }
+    }
+
+    private static int paeth(int a, int b, int c) {
+        int p = a + b - c;
+        int pa = Math.abs(p - a);
+        int pb = Math.abs(p - b);
+        int pc = Math.abs(p - c);
+        if (pa <= pb && pa <= pc) {
+            return a;
+        }
+        return pb <= pc ? b : c;
+    }
+
+    /**
+     * Suma de los bytes filtrados como valores con signo, la heurística
+     * habitual para elegir filtro
+     */
+    private static long cost(byte[] filtered) {
+        long sum = 0;
+        for (int i = 1; i < filtered.length; i++) {
+            sum += Math.abs(filtered[i]);
+        }
+        return sum;
+    }
+
+    /**
+     * Colores distintos de la imagen, en orden de aparición, con una tabla
+     * hash pequeña para buscar el índice de cada color
+     */
+    private static final class Palette {
+
+        private static final int TABLE = 1024;
+
+        private final int[] colors = new int[MAX_PALETTE];
+        private final int[] keys = new int[TABLE];
+        private final short[] slots = new short[TABLE];
+        private int count;
+
+        private Palette() {
+            Arrays.fill(slots, (short) -1);
+        }
+
+        /**
+         * @return la paleta, o null si hay más de 256 colores
+         */
+        static Palette of(int[] pixels) {
+            Palette palette = new Palette();
+            int last = 0;
+            boolean any = false;
+            for (int pixel : pixels) {
+                if (any && pixel == last) {
+                    continue;
+                }
+                if (palette.index(pixel) < 0) {
+                    if (palette.count == MAX_PALETTE) {
+                        return null;
+                    }
+                    palette.add(pixel);
+                }
+                last = pixel;
+                any = true;
+            }
+            return palette;
+        }
+
+        private int index(int color) {
+            int slot = hash(color);
+            while (slots[slot] >= 0) {
+                if (keys[slot] == color) {
+                    return slots[slot];
+                }
+                slot = (slot + 1) & (TABLE - 1);
+            }
+            return -1;
+        }
+
+        private void add(int color) {
+            int slot = hash(color);
+            while (slots[slot] >= 0) {
+                slot = (slot + 1) & (TABLE - 1);
+            }
+            keys[slot] = color;
+            slots[slot] = (short) count;
+            colors[count++] = color;
+        }
+
+        private static int hash(int color) {
+            int h = color * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & (TABLE - 1);
+        }
+
+        int bitDepth() {
+            if (count <= 2) {
+                return 1;
+            }
+            if (count <= 4) {
+                return 2;
+            }
+            return count <= 16 ? 4 : 8;
+        }
+
+        /**
+         * Empaqueta una fila de índices con la profundidad de la paleta,
+         * el primer pixel en los bits altos
+         */
+        void pack(int[] pixels, int offset, int width, byte[] row) {
+            int depth = bitDepth();
+            int perByte = 8 / depth;
+            int last = pixels[offset];
+            int lastIndex = index(last);
+            int accumulator = 0;
+            int filled = 0;
+            int out = 0;
+            for (int x = 0; x < width; x++) {
+                int pixel = pixels[offset + x];
+                if (pixel != last) {
+                    last = pixel;
+                    lastIndex = index(pixel);
+                }
+                accumulator = (accumulator << depth) | lastIndex;
+                if (++filled == perByte) {
+                    row[out++] = (byte) accumulator;
+                    accumulator = 0;
+                    filled = 0;
+                }
+            }
+            if (filled > 0) {
+                row[out] = (byte) (accumulator << (depth * (perByte - filled)));
+            }
+        }
+
+        /**
+         * PLTE y, si algún color no es opaco, tRNS con el alfa de la paleta
+         */
+        void writeTo(DataOutputStream png) throws IOException {
+            ChunkBuffer plte = new ChunkBuffer(count * 3);
+            int lastTranslucent = -1;
+            for (int i = 0; i < count; i++) {
+                int color = colors[i];
+                plte.write(color >> 16);
+                plte.write(color >> 8);
+                plte.write(color);
+                if ((color >>> 24) != 0xFF) {
+                    lastTranslucent = i;
+                }
+            }
+            plte.writeTo(png, "PLTE");
+
+            if (lastTranslucent >= 0) {
+                ChunkBuffer trns = new ChunkBuffer(lastTranslucent + 1);
+                for (int i = 0; i <= lastTranslucent; i++) {
+                    trns.write(colors[i] >>> 24);
+                }
+                trns.writeTo(png, "tRNS");
+            }
+        }
+    }
+
+    /**
+     * Datos de un chunk pequeño, que se escribe con su longitud y su CRC
+     */
+    private static final class ChunkBuffer {
+
+        private final byte[] data;
+        private int length;
+
+        ChunkBuffer(int capacity) {
+            data = new byte[capacity];
+        }
+
+        void write(int b) {
+            data[length++] = (byte) b;
+        }
+
+        void writeInt(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+
+        void writeTo(DataOutputStream png, String type) throws IOException {
+            writeChunk(png, type, data, 0, length);
+        }
+    }
+
+    private static void writeChunk(DataOutputStream png, String type, byte[] data, int offset, int length)
+            throws IOException {
+        byte[] name = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(name);
+        crc.update(data, offset, length);
+        png.writeInt(length);
+        png.write(name);
+        png.write(data, offset, length);
+        png.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Parte los datos comprimidos en chunks IDAT de tamaño fijo; no cierra el
+     * destino
+     */
+    private static final class IdatStream extends OutputStream {
+
+        private final DataOutputStream png;
+        private final byte[] buffer = new byte[CHUNK];
+        private int length;
+
+        IdatStream(DataOutputStream png) {
+            this.png = png;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (length == buffer.length) {
+                flush();
+            }
+            buffer[length++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (length == buffer.length) {
+                    flush();
+                }
+                int n = Math.min(len, buffer.length - length);
+                System.arraycopy(b, off, buffer, length, n);
+                length += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (length > 0) {
+                writeChunk(png, "IDAT", buffer, 0, length);
+                length = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package junkier.qrcreator.services;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.MultiFormatReader;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.PlanarYUVLuminanceSource;
+import com.google.zxing.ReaderException;
+import com.google.zxing.Result;
+import com.google.zxing.ResultPoint;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Servicio que se encarga de comprobar si un QR se puede leer, o devolver
+ * sobre una imagen con QR, su contenido
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2025-08-29
+ * @version 1.4
+ */
+public class QrReadService {
+
+    /**
+     * Lado mínimo de un nivel reducido para que merezca la pena probarlo
+     */
+    private static final int MIN_LEVEL_SIZE = 240;
+
+    /**
+     * Nivel de la pirámide de lectura
+     */
+    public enum Level {
+        QUARTER(4), HALF(2), FULL(1);
+
+        private final int divisor;
+
+        Level(int divisor) {
+            this.divisor = divisor;
+        }
+
+        /**
+         * @return cuántas veces más pequeño que el original
+         */
+        public int getDivisor() {
+            return divisor;
+        }
+    }
+
+    /**
+     * Resultado de la lectura por niveles
+     *
+     * @param result resultado de ZXing, con los puntos en coordenadas de la
+     * imagen original
+     * @param level nivel en el que se ha leído
+     * @param cropped si se ha leído recortando a la zona de interés
+     * @param attempts intentos hechos, contando el bueno
+     */
+    public record PyramidResult(Result result, Level level, boolean cropped, int attempts) {
+    }
+
+    /**
+     * Pistas para leer solo QR, buscando más a fondo si se pide
+     *
+     * @param tryHarder si se activa TRY_HARDER, más lento pero más tolerante
+     * @return las pistas para el lector
+     */
+    public static Map<DecodeHintType, Object> hints(boolean tryHarder) {
+        Map<DecodeHintType, Object> hints = new EnumMap<>(DecodeHintType.class);
+        hints.put(DecodeHintType.POSSIBLE_FORMATS, List.of(BarcodeFormat.QR_CODE));
+        if (tryHarder) {
+            hints.put(DecodeHintType.TRY_HARDER, Boolean.TRUE);
+        }
+        return hints;
+    }
+
+    /**
+     * Crear un lector ya configurado, para reutilizarlo en un mismo hilo
+     *
+     * @param tryHarder si se activa TRY_HARDER
+     * @return el lector
+     */
+    public static MultiFormatReader newReader(boolean tryHarder) {
+        MultiFormatReader reader = new MultiFormatReader();
+        reader.setHints(hints(tryHarder));
+        return reader;
+    }
+
+    /**
+     * Decodificar una imagen con un lector creado con {@link #newReader}. El
+     * lector no es seguro entre hilos
+     *
+     * @param reader lector configurado
+     * @param image imagen con el QR
+     * @return el resultado de ZXing
+     * @throws NotFoundException Si no hay ningún QR legible
+     */
+    public static Result decode(MultiFormatReader reader, BufferedImage image) throws NotFoundException {
+        long start = QrMetrics.start();
+        LuminanceSource source = new BufferedImageLuminanceSource(image);
+        Result result = reader.decodeWithState(new BinaryBitmap(new HybridBinarizer(source)));
+        QrMetrics.stop(QrMetrics.Stage.DECODE, start);
+        QrMetrics.count(QrMetrics.Counter.DECODED, 1);
+        return result;
+    }
+
+    public static boolean isQrReadable(BufferedImage qrImage) {
+        try {
+            long start = QrMetrics.start();
+            LuminanceSource source = new BufferedImageLuminanceSource(qrImage);
+            BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(source));
+            Result result = new MultiFormatReader().decode(bitmap);
+            QrMetrics.stop(QrMetrics.Stage.DECODE, start);
+            QrMetrics.count(QrMetrics.Counter.DECODED, 1);
+            return result != null && !result.getText().isEmpty();
+        } catch (Exception e) {
+            QrMetrics.error("readable", e);
+            return false;
+        }
+    }
+
+    public static String readQrContent(File qrImage) {
+        try {
+            long start = QrMetrics.start();
+            BufferedImage qrMatrix = ImageIO.read(qrImage);
+            QrMetrics.stop(QrMetrics.Stage.LOAD, start);
+            if (qrMatrix == null) {
+                throw new IOException("Formato de imagen no soportado: " + qrImage);
+            }
+            return decodePyramid(newReader(false), qrMatrix).result().getText();
+        } catch (Exception e) {
+            QrMetrics.error("read", e);
+            return null;
+        }
+    }
+
+    /**
+     * Decodificar probando primero versiones reducidas en grises (1/4, 1/2)
+     * y luego la resolución completa, recortada a la zona de interés y
+     * entera. Para en el primer nivel que lee el QR. En fotos grandes casi
+     * siempre basta con un nivel reducido, que además se binariza mejor
+     *
+     * @param reader lector configurado, ver {@link #newReader}
+     * @param image imagen con el QR
+     * @return el resultado y el nivel que lo ha leído
+     * @throws NotFoundException Si ningún nivel lee un QR
+     */
+    public static PyramidResult decodePyramid(MultiFormatReader reader, BufferedImage image) throws NotFoundException {
+        long start = QrMetrics.start();
+        PyramidResult found = pyramid(reader, image);
+        QrMetrics.stop(QrMetrics.Stage.DECODE, start);
+        QrMetrics.count(QrMetrics.Counter.DECODED, 1);
+        return found;
+    }
+
+    private static PyramidResult pyramid(MultiFormatReader reader, BufferedImage image) throws NotFoundException {
+        QrLuma full = QrLuma.of(image);
+        QrLuma half = Math.min(full.width, full.height) >= 2 * MIN_LEVEL_SIZE ? full.half() : null;
+        QrLuma quarter = half != null && Math.min(half.width, half.height) >= 2 * MIN_LEVEL_SIZE ? half.half() : null;
+
+        int attempts = 0;
+        QrLuma[] levels = {quarter, half};
+        for (int i = 0; i < levels.length; i++) {
+            if (levels[i] != null) {
+                attempts++;
+                Result result = tryLevel(reader, levels[i], null, Level.values()[i].getDivisor());
+                if (result != null) {
+                    return new PyramidResult(result, Level.values()[i], false, attempts);
+                }
+            }
+        }
+
+        QrLuma smallest = quarter != null ? quarter : half != null ? half : full;
+        int[] roi = smallest.regionOfInterest();
+        if (roi != null) {
+            int scale = full.width / smallest.width;
+            int[] crop = {roi[0] * scale, roi[1] * scale,
+                Math.min(roi[2] * scale, full.width - roi[0] * scale), Math.min(roi[3] * scale, full.height - roi[1] * scale)};
+            attempts++;
+            Result result = tryLevel(reader, full, crop, 1);
+            if (result != null) {
+                return new PyramidResult(result, Level.FULL, true, attempts);
+            }
+        }
+
+        attempts++;
+        Result result = tryLevel(reader, full, null, 1);
+        if (result != null) {
+            return new PyramidResult(result, Level.FULL, false, attempts);
+        }
+        throw NotFoundException.getNotFoundInstance();
+    }
+
+    /**
+     * Intentar un nivel, opcionalmente recortado
+     *
+     * @param crop {x, y, ancho, alto} en pixeles del nivel, o null
+     * @param divisor escala del nivel respecto al original
+     * @return el resultado con los puntos en coordenadas originales, o null
+     */
+    private static Result tryLevel(MultiFormatReader reader, QrLuma luma, int[] crop, int divisor) {
+        int left = crop == null ? 0 : crop[0];
+        int top = crop == null ? 0 : crop[1];
+        int width = crop == null ? luma.width : crop[2];
+        int height = crop == null ? luma.height : crop[3];
+        LuminanceSource source = new PlanarYUVLuminanceSource(luma.data, luma.width, luma.height,
+                left, top, width, height, false);
+        Result result;
+        try {
+            result = reader.decodeWithState(new BinaryBitmap(new HybridBinarizer(source)));
+        } catch (ReaderException e) {
+            return null;
+        }
+        if (divisor == 1 && crop == null) {
+            return result;
+        }
+        return translate(result, left, top, divisor);
+    }
+
+    /**
+     * Pasar los puntos de un resultado leído en un recorte reducido a
+     * coordenadas de la imagen original
+     *
+     * @param result resultado de ZXing
+     * @param left origen horizontal del recorte, en pixeles del nivel
+     * @param top origen vertical del recorte, en pixeles del nivel
+     * @param divisor escala del nivel respecto al original
+     * @return un resultado igual con los puntos trasladados
+     */
+    static Result translate(Result result, int left, int top, int divisor) {
+        ResultPoint[] points = result.getResultPoints();
+        ResultPoint[] mapped = points == null ? null : new ResultPoint[points.length];
+        for (int i = 0; mapped != null && i < points.length; i++) {
+            mapped[i] = points[i] == null ? null
+                    : new ResultPoint((points[i].getX() + left) * divisor, (points[i].getY() + top) * divisor);
+        }
+        Result scaled = new Result(result.getText(), result.getRawBytes(), result.getNumBits(), mapped,
+                result.getBarcodeFormat(), result.getTimestamp());
+        scaled.putAllMetadata(result.getResultMetadata());
+        return scaled;
+    }
+}
@@ -0,0 +1,363 @@
+package junkier.qrcreator.services;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.MultiFormatReader;
+import com.google.zxing.PlanarYUVLuminanceSource;
+import com.google.zxing.ReaderException;
+import com.google.zxing.common.GlobalHistogramBinarizer;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.decoder.Version;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.QRCode;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import junkier.qrcreator.services.QrRenderEngine.Layout;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+
+/**
+ * Comprobación escalonada de si un QR se podrá leer, sin generar ni
+ * decodificar la imagen completa en el caso habitual.
+ *
+ * Primero un análisis sobre la especificación: contraste de luminancia entre
+ * los colores, daño de la forma de los ojos a los patrones de posición (que
+ * se guarda por forma y tamaño de pupila) y superficie del logo frente a la
+ * capacidad de corrección de errores. Si el logo no cabe seguro se decodifica
+ * con ZXing una imagen de un pixel por módulo (QR_CODE y PURE_BARCODE), y
+ * solo si lo dudoso es el contraste o una forma de ojos que el análisis no
+ * descarta se decodifica la imagen a tamaño real. Esa imagen sale de la
+ * rejilla de módulos del renderizador en escala de grises, sin montar la
+ * imagen ARGB: el detector de patrones de posición ve los mismos pixeles, y
+ * a menos pixeles por módulo la forma de los ojos cambia y el resultado no
+ * coincide con el de la imagen real
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.4
+ */
+public class QrReadabilityService {
+
+    /**
+     * Margen de luminancia que tiene que sobrar para dar el contraste por
+     * bueno sin decodificar
+     */
+    private static final int SAFE_MARGIN = 32;
+
+    /**
+     * Rango mínimo que el binarizador considera contraste
+     */
+    private static final int MIN_CONTRAST = 24;
+
+    private static final int PUPIL_SIZE = 3;
+    private static final int QUIET_ZONE = 1;
+
+    private static final Map<DecodeHintType, Object> HINTS = Map.of(
+            DecodeHintType.POSSIBLE_FORMATS, List.of(BarcodeFormat.QR_CODE),
+            DecodeHintType.PURE_BARCODE, Boolean.TRUE);
+
+    private static final int MAX_EYES = 64;
+
+    /**
+     * Solo el análisis de la pupila, que no depende del contenido
+     */
+    private static final QrLruCache<EyeKey, Verdict> EYES = new QrLruCache<>(MAX_EYES, Long.MAX_VALUE,
+            verdict -> 0);
+
+    /**
+     * Etapa que ha decidido el resultado
+     */
+    public enum Stage {
+        ANALYTIC, MODULES, IMAGE
+    }
+
+    /**
+     * Resultado de una comprobación parcial
+     */
+    enum Verdict {
+        READABLE, UNREADABLE, UNKNOWN
+    }
+
+    /**
+     * @param readable si el QR se puede leer
+     * @param stage etapa que lo ha decidido
+     * @param reason motivo cuando no se puede leer, o null
+     */
+    public record Result(boolean readable, Stage stage, String reason) {
+    }
+
+    private record EyeKey(EyeShape shape, int pupilSize) {
+    }
+
+    /**
+     * Comprobar si el QR de la especificación se podrá leer al renderizarlo
+     * con el renderizador dado
+     *
+     * @param spec especificación del QR
+     * @param renderer renderizador con el que se generará
+     * @return el resultado y la etapa que lo ha decidido
+     */
+    public static Result check(QrRenderSpec spec, QrRenderer renderer) {
+        try {
+            Verdict contrast = contrast(spec.front(), spec.back());
+            if (contrast == Verdict.UNREADABLE) {
+                return new Result(false, Stage.ANALYTIC, "Contraste insuficiente");
+            }
+            if (contrast == Verdict.UNKNOWN) {
+                return decodeImage(spec, renderer, "Contraste insuficiente");
+            }
+
+            QRCode code = renderer.encode(spec.content());
+            Layout layout = QrRenderEngine.Layout.of(code.getMatrix().getWidth(), spec.size(), spec.margin());
+
+            if (spec.eyeShape() != EyeShape.SQUARE) {
+                if (eyes(spec.eyeShape(), PUPIL_SIZE * layout.multiple()) == Verdict.UNREADABLE) {
+                    return new Result(false, Stage.ANALYTIC, "Los ojos no se reconocen");
+                }
+                // Que el detector encuentre los ojos depende de dónde caen los
+                // pixeles de este contenido; a un pixel por módulo la forma no
+                // se ve, así que se decodifica la imagen real
+                return decodeImage(spec, renderer, "Los ojos no se reconocen");
+            }
+
+            if (!spec.hasLogo() || logoFits(code, layout)) {
+                return new Result(true, Stage.ANALYTIC, null);
+            }
+
+            boolean readable = decodeModules(spec, code, layout);
+            return new Result(readable, Stage.MODULES, readable ? null : "El logo tapa demasiados datos");
+        } catch (Exception e) {
+            return new Result(false, Stage.ANALYTIC, e.getMessage());
+        }
+    }
+
+    /**
+     * El binarizador de ZXing no separa nada con menos de 24 niveles de
+     * diferencia. Con módulos grandes además toma como umbral de los bloques
+     * uniformes la mitad de su luminancia, así que con los datos por debajo
+     * de la mitad del fondo se lee siempre; entre medias depende del tamaño
+     * del módulo
+     *
+     * @param front color ARGB de los datos
+     * @param back color ARGB del fondo
+     * @return si el contraste basta, no basta o no está claro
+     */
+    static Verdict contrast(int front, int back) {
+        int dark = luminance(front);
+        int light = luminance(back);
+        if (light - dark < MIN_CONTRAST) {
+            return Verdict.UNREADABLE;
+        }
+        if (2 * dark + SAFE_MARGIN <= light) {
+            return Verdict.READABLE;
+        }
+        return Verdict.UNKNOWN;
+    }
+
+    /**
+     * Luminancia de un color tal y como la calcula el lector de ZXing, que
+     * toma los pixeles totalmente transparentes como blancos
+     *
+     * @param argb color ARGB
+     * @return luminancia entre 0 y 255
+     */
+    static int luminance(int argb) {
+        if ((argb >>> 24) == 0) {
+            return 0xFF;
+        }
+        int r = (argb >> 16) & 0xFF;
+        int g = (argb >> 8) & 0xFF;
+        int b = argb & 0xFF;
+        return (306 * r + 601 * g + 117 * b + 0x200) >> 10;
+    }
+
+    /**
+     * Análisis de la pupila de una forma, guardado por forma y tamaño porque
+     * no depende del contenido
+     *
+     * @param shape forma de los ojos
+     * @param pupilSize lado de la pupila en pixeles
+     * @return UNREADABLE si la forma rompe el patrón, UNKNOWN si no se sabe
+     */
+    private static Verdict eyes(EyeShape shape, int pupilSize) {
+        EyeKey key = new EyeKey(shape, pupilSize);
+        Verdict verdict = EYES.get(key);
+        if (verdict == null) {
+            verdict = eyeDamage(shape, pupilSize);
+            EYES.put(key, verdict);
+        }
+        return verdict;
+    }
+
+    /**
+     * Medir cuánto acorta la forma la pupila en las cuatro líneas que el
+     * detector de ZXing recorre por el centro del patrón de posición
+     * (1:1:3:1:1). En horizontal y vertical la pupila tiene que ocupar más de
+     * 2/3 de su lado, en diagonal más de la mitad, por la tolerancia del
+     * detector
+     *
+     * @param shape forma de los ojos
+     * @param blockSize lado de la pupila en pixeles
+     * @return UNREADABLE si la forma rompe el patrón, UNKNOWN si no se sabe
+     */
+    static Verdict eyeDamage(EyeShape shape, int blockSize) {
+        int horizontal = run(shape, blockSize, 1, 0);
+        int vertical = run(shape, blockSize, 0, 1);
+        int diagonal = Math.min(run(shape, blockSize, 1, 1), run(shape, blockSize, 1, -1));
+
+        if (3 * Math.min(horizontal, vertical) <= 2 * blockSize || 2 * diagonal <= blockSize) {
+            return Verdict.UNREADABLE;
+        }
+        return Verdict.UNKNOWN;
+    }
+
+    /**
+     * Longitud del tramo continuo conservado que pasa por el centro de la
+     * pupila en la dirección dada
+     */
+    private static int run(EyeShape shape, int blockSize, int stepX, int stepY) {
+        int center = blockSize / 2;
+        if (!QrTransformEyesService.keep(shape, center, center, blockSize)) {
+            return 0;
+        }
+        int length = 1;
+        for (int sign = -1; sign <= 1; sign += 2) {
+            int x = center + sign * stepX;
+            int y = center + sign * stepY;
+            while (x >= 0 && x < blockSize && y >= 0 && y < blockSize
+                    && QrTransformEyesService.keep(shape, x, y, blockSize)) {
+                length++;
+                x += sign * stepX;
+                y += sign * stepY;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Cota de los codewords que puede tapar el logo por bloque, frente a los
+     * errores que corrige cada bloque. Los codewords se colocan en columnas de
+     * dos módulos y cuatro filas, y el entrelazado reparte los consecutivos
+     * entre los bloques
+     *
+     * @return true si el logo cabe seguro en la corrección de errores
+     */
+    private static boolean logoFits(QRCode code, Layout layout) {
+        int box = layout.size() / 6;
+        int start = (layout.size() - box) / 2;
+        int first = Math.max(0, (start - layout.padding()) / layout.multiple());
+        int last = Math.min(layout.dimension() - 1, (start + box - 1 - layout.padding()) / layout.multiple());
+        int modules = last - first + 1;
+
+        Version.ECBlocks blocks = code.getVersion().getECBlocksForLevel(code.getECLevel());
+        int columnPairs = (modules + 1) / 2 + 1;
+        int perPair = (modules + 3) / 4 + 1;
+        int perBlock = columnPairs * ((perPair + blocks.getNumBlocks() - 1) / blocks.getNumBlocks());
+        return perBlock <= blocks.getECCodewordsPerBlock() / 2;
+    }
+
+    /**
+     * Decodificar el QR muestreado en el centro de cada módulo, con el logo
+     * real encima, a un pixel por módulo
+     *
+     * @return true si ZXing lo decodifica
+     */
+    private static boolean decodeModules(QrRenderSpec spec, QRCode code, Layout layout) throws Exception {
+        ByteMatrix matrix = code.getMatrix();
+        int dimension = layout.dimension();
+        int width = dimension + 2 * QUIET_ZONE;
+        byte[] luma = new byte[width * width];
+
+        int front = luminance(spec.front());
+        int back = luminance(spec.back());
+        Arrays.fill(luma, (byte) back);
+        for (int y = 0; y < dimension; y++) {
+            int offset = (y + QUIET_ZONE) * width + QUIET_ZONE;
+            for (int x = 0; x < dimension; x++) {
+                if (matrix.get(x, y) == 1) {
+                    luma[offset + x] = (byte) front;
+                }
+            }
+        }
+
+        int box = layout.size() / 6;
+        BufferedImage logoBox = spec.hasLogo() ? QrLogoCache.logoBox(spec.logo(), box, spec.back()) : null;
+        if (logoBox != null) {
+            int start = (layout.size() - box) / 2;
+            int half = layout.multiple() / 2;
+            for (int y = 0; y < dimension; y++) {
+                int py = layout.padding() + y * layout.multiple() + half - start;
+                if (py < 0 || py >= box) {
+                    continue;
+                }
+                for (int x = 0; x < dimension; x++) {
+                    int px = layout.padding() + x * layout.multiple() + half - start;
+                    if (px < 0 || px >= box) {
+                        continue;
+                    }
+                    int index = (y + QUIET_ZONE) * width + QUIET_ZONE + x;
+                    luma[index] = (byte) over(logoBox.getRGB(px, py), luma[index] & 0xFF);
+                }
+            }
+        }
+
+        PlanarYUVLuminanceSource source = new PlanarYUVLuminanceSource(luma, width, width, 0, 0, width, width, false);
+        try {
+            new MultiFormatReader().decode(new BinaryBitmap(new GlobalHistogramBinarizer(source)), HINTS);
+            return true;
+        } catch (ReaderException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Decodificar el QR a tamaño real como lo hace
+     * {@link QrReadService#isQrReadable}, para los casos que el análisis no
+     * sabe decidir. Los pixeles salen de la rejilla en escala de grises, con
+     * la caja del logo encima, en vez de la imagen ARGB
+     */
+    private static Result decodeImage(QrRenderSpec spec, QrRenderer renderer, String reason) throws Exception {
+        long start = QrMetrics.start();
+        QrRenderer.Layers layers = renderer.layers(spec);
+        int size = layers.modules().size();
+        byte[] gray = layers.modules().gray(luminance(spec.front()), luminance(spec.back()));
+        BufferedImage logoBox = layers.logoBox();
+        if (logoBox != null) {
+            int offset = layers.logoOffset();
+            int[] row = new int[logoBox.getWidth()];
+            for (int y = 0; y < logoBox.getHeight(); y++) {
+                logoBox.getRGB(0, y, row.length, 1, row, 0, row.length);
+                int index = (offset + y) * size + offset;
+                for (int x = 0; x < row.length; x++, index++) {
+                    gray[index] = (byte) over(row[x], gray[index] & 0xFF);
+                }
+            }
+        }
+
+        PlanarYUVLuminanceSource source = new PlanarYUVLuminanceSource(gray, size, size, 0, 0, size, size, false);
+        boolean readable;
+        try {
+            readable = !new MultiFormatReader().decode(new BinaryBitmap(new HybridBinarizer(source))).getText()
+                    .isEmpty();
+        } catch (ReaderException e) {
+            readable = false;
+        }
+        QrMetrics.stop(QrMetrics.Stage.DECODE, start);
+        QrMetrics.count(QrMetrics.Counter.DECODED, 1);
+        return new Result(readable, Stage.IMAGE, readable ? null : reason);
+    }
+
+    /**
+     * Luminancia de un pixel del logo compuesto sobre la del módulo
+     */
+    private static int over(int argb, int under) {
+        int alpha = argb >>> 24;
+        if (alpha == 0) {
+            return under;
+        }
+        return (luminance(argb | 0xFF000000) * alpha + under * (255 - alpha) + 127) / 255;
+    }
+}
@@ -0,0 +1,114 @@
+package junkier.qrcreator.services;
+
+import com.google.zxing.qrcode.encoder.QRCode;
+
+import java.awt.image.BufferedImage;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+
+/**
+ * Caché de renders del QR. Guarda tanto la matriz codificada, por contenido,
+ * como el resultado final (imagen o bytes ya codificados), por la
+ * especificación completa, para que las peticiones repetidas se salten la
+ * codificación, los ojos y la rasterización
+ *
+ * Las imágenes devueltas se comparten entre llamadas y no se deben modificar
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.2
+ */
+public class QrRenderCache {
+
+    /**
+     * Formato de las imágenes en memoria
+     */
+    public static final String FORMAT_IMAGE = "argb";
+    private static final String FORMAT_MATRIX = "matrix";
+
+    /**
+     * Clave completa de un render
+     *
+     * @param content Datos del QR
+     * @param front color ARGB de los datos
+     * @param back color ARGB del fondo
+     * @param eyeShape Forma de las esquinas
+     * @param logoId identidad y versión del logo, o null si no hay
+     * @param size tamaño en pixeles
+     * @param margin zona de silencio en módulos
+     * @param dpi resolución guardada en el fichero
+     * @param format formato del resultado (argb, png, svg...)
+     */
+    public record Key(String content, int front, int back, EyeShape eyeShape, String logoId, int size, int margin,
+            int dpi, String format) {
+
+        public static Key of(QrRenderSpec spec, String format) {
+            return new Key(spec.content(), spec.front(), spec.back(), spec.eyeShape(),
+                    spec.hasLogo() ? spec.logo().id() + "@" + spec.logo().version() : null,
+                    spec.size(), spec.margin(), spec.dpi(), format);
+        }
+
+        private static Key matrix(String content) {
+            return new Key(content, 0, 0, null, null, 0, 0, 0, FORMAT_MATRIX);
+        }
+    }
+
+    private final QrLruCache<Key, Object> cache;
+
+    /**
+     * @param maxEntries número máximo de entradas
+     * @param maxBytes memoria máxima aproximada en bytes
+     */
+    public QrRenderCache(int maxEntries, long maxBytes) {
+        this.cache = new QrLruCache<>(maxEntries, maxBytes, QrRenderCache::weight);
+    }
+
+    public QRCode getCode(String content) {
+        return (QRCode) cache.get(Key.matrix(content));
+    }
+
+    public void putCode(String content, QRCode code) {
+        cache.put(Key.matrix(content), code);
+    }
+
+    public BufferedImage getImage(Key key) {
+        return (BufferedImage) cache.get(key);
+    }
+
+    public void putImage(Key key, BufferedImage image) {
+        cache.put(key, image);
+    }
+
+    public byte[] getBytes(Key key) {
+        return (byte[]) cache.get(key);
+    }
+
+    public void putBytes(Key key, byte[] bytes) {
+        cache.put(key, bytes);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * @return aciertos, fallos y descartes de la caché
+     */
+    public QrLruCache.Stats stats() {
+        return cache.stats();
+    }
+
+    private static long weight(Object value) {
+        if (value instanceof BufferedImage image) {
+            // las indexadas comparten un byte por pixel con su rejilla
+            return (long) image.getWidth() * image.getHeight()
+                    * (image.getType() == BufferedImage.TYPE_BYTE_INDEXED ? 1 : 4);
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (value instanceof QRCode code) {
+            return (long) code.getMatrix().getWidth() * code.getMatrix().getHeight();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,240 @@
+package junkier.qrcreator.services;
+
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+import com.google.zxing.qrcode.encoder.QRCode;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+
+/**
+ * Motor de renderizado del QR a nivel de módulo. Codifica el contenido a la
+ * resolución nativa del símbolo (de 21x21 a 177x177 módulos) y rasteriza cada
+ * tramo de módulos del mismo color directamente sobre el int[] de un
+ * BufferedImage TYPE_INT_ARGB, sin pasar por Graphics2D, o sobre un byte[]
+ * de índices de paleta para {@link QrModuleRaster}
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.4
+ */
+public class QrRenderEngine {
+
+    /**
+     * Geometría de la imagen final, calculada igual que QRCodeWriter para que
+     * el resultado sea identico al de la matriz de pixeles
+     *
+     * @param dimension módulos por lado del símbolo, sin zona de silencio
+     * @param multiple pixeles por módulo
+     * @param padding pixeles desde el borde hasta el primer módulo
+     * @param size pixeles por lado de la imagen
+     */
+    public record Layout(int dimension, int multiple, int padding, int size) {
+
+        /**
+         * Calcula la geometría para un símbolo dentro de una imagen cuadrada
+         *
+         * @param dimension módulos por lado del símbolo
+         * @param size tamaño pedido de la imagen
+         * @param margin zona de silencio en módulos
+         * @return la geometría resultante
+         */
+        public static Layout of(int dimension, int size, int margin) {
+            int qrWidth = dimension + margin * 2;
+            int outputSize = Math.max(size, qrWidth);
+            int multiple = outputSize / qrWidth;
+            int padding = (outputSize - dimension * multiple) / 2;
+            return new Layout(dimension, multiple, padding, outputSize);
+        }
+    }
+
+    /**
+     * Codificar el contenido en la matriz de módulos del QR. El contenido se
+     * parte en segmentos numéricos, alfanuméricos y de bytes para quedarse
+     * en la versión más pequeña posible (QR_COMPACT de ZXing). Si todo es
+     * ASCII no hace falta ECI; si no, los bytes van en UTF-8 con su ECI, como
+     * antes. Si el codificador mínimo falla se codifica en un solo modo
+     *
+     * @param text Información del QR
+     * @return el símbolo codificado, con versión y matriz de módulos
+     * @throws WriterException Error al codificar el contenido
+     * @see QrSegments#describe(QRCode)
+     */
+    public static QRCode encode(String text) throws WriterException {
+        if (text == null || text.isEmpty()) {
+            throw new IllegalArgumentException("Found empty contents");
+        }
+        Map<EncodeHintType, Object> hints = new EnumMap<>(EncodeHintType.class);
+        hints.put(EncodeHintType.QR_COMPACT, Boolean.TRUE);
+        if (!ascii(text)) {
+            hints.put(EncodeHintType.CHARACTER_SET, "UTF-8");
+        }
+        long start = QrMetrics.start();
+        QRCode code;
+        try {
+            code = Encoder.encode(text, ErrorCorrectionLevel.L, hints);
+        } catch (WriterException e) {
+            // El codificador mínimo de ZXing 3.5 falla con caracteres fuera
+            // del BMP (emojis); en ese caso todo va en un solo modo
+            code = encodeByteMode(text);
+        }
+        QrMetrics.stop(QrMetrics.Stage.ENCODE, start);
+        return code;
+    }
+
+    /**
+     * Codificación anterior, todo el contenido en un solo modo, para cuando
+     * falla el codificador mínimo
+     */
+    private static QRCode encodeByteMode(String text) throws WriterException {
+        return Encoder.encode(text, ErrorCorrectionLevel.L, Map.of(EncodeHintType.CHARACTER_SET, "UTF-8"));
+    }
+
+    private static boolean ascii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Renderizar el símbolo con sus ojos ya transformados
+     *
+     * @param code símbolo codificado
+     * @param size tamaño de la imagen en pixeles
+     * @param margin zona de silencio en módulos
+     * @param eyeshape Forma de las esquinas del QR elegida
+     * @param front color ARGB de los módulos oscuros
+     * @param back color ARGB del fondo
+     * @return Imagen del QR
+     */
+    public static BufferedImage render(QRCode code, int size, int margin, EyeShape eyeshape, int front, int back) {
+        ByteMatrix modules = code.getMatrix();
+        Layout layout = Layout.of(modules.getWidth(), size, margin);
+
+        long start = QrMetrics.start();
+        BufferedImage qr = new BufferedImage(layout.size(), layout.size(), BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) qr.getRaster().getDataBuffer()).getData();
+        Arrays.fill(pixels, back);
+
+        rasterizeModules(modules, layout, pixels, front);
+        QrMetrics.stop(QrMetrics.Stage.RASTER, start);
+
+        if (eyeshape != null && eyeshape != EyeShape.SQUARE) {
+            start = QrMetrics.start();
+            QrTransformEyesService.transformEyes(pixels, layout.size(), QrEyeLocator.locate(layout), eyeshape, back);
+            QrMetrics.stop(QrMetrics.Stage.EYES, start);
+        }
+        return qr;
+    }
+
+    /**
+     * Rasterizar el símbolo con sus ojos a índices de paleta, un byte por
+     * pixel, sin pasar por una imagen ARGB
+     *
+     * @param code símbolo codificado
+     * @param layout geometría de la imagen, de {@link Layout#of}
+     * @param eyeshape Forma de las esquinas del QR elegida
+     * @param front índice de los módulos oscuros
+     * @param back índice del fondo
+     * @return los índices fila a fila, de layout.size() x layout.size()
+     */
+    static byte[] renderIndices(QRCode code, Layout layout, EyeShape eyeshape, byte front, byte back) {
+        long start = QrMetrics.start();
+        byte[] pixels = new byte[layout.size() * layout.size()];
+        if (back != 0) {
+            Arrays.fill(pixels, back);
+        }
+        rasterizeModules(code.getMatrix(), layout, pixels, front);
+        QrMetrics.stop(QrMetrics.Stage.RASTER, start);
+
+        if (eyeshape != null && eyeshape != EyeShape.SQUARE) {
+            start = QrMetrics.start();
+            QrTransformEyesService.transformEyes(pixels, layout.size(), QrEyeLocator.locate(layout), eyeshape, back);
+            QrMetrics.stop(QrMetrics.Stage.EYES, start);
+        }
+        return pixels;
+    }
+
+    /**
+     * Rasteriza los tramos de módulos oscuros de cada fila y replica la
+     * primera fila de pixeles del módulo en las siguientes
+     *
+     * @param modules matriz de módulos
+     * @param layout geometría de la imagen
+     * @param pixels buffer ARGB de la imagen, ya relleno con el fondo
+     * @param front color ARGB de los módulos oscuros
+     */
+    private static void rasterizeModules(ByteMatrix modules, Layout layout, int[] pixels, int front) {
+        int dimension = layout.dimension();
+        int multiple = layout.multiple();
+        int size = layout.size();
+        int rowLength = dimension * multiple;
+        byte[][] array = modules.getArray();
+
+        for (int my = 0; my < dimension; my++) {
+            byte[] row = array[my];
+            int rowStart = (layout.padding() + my * multiple) * size + layout.padding();
+
+            int mx = 0;
+            while (mx < dimension) {
+                if (row[mx] != 1) {
+                    mx++;
+                    continue;
+                }
+                int runStart = mx;
+                while (mx < dimension && row[mx] == 1) {
+                    mx++;
+                }
+                Arrays.fill(pixels, rowStart + runStart * multiple, rowStart + mx * multiple, front);
+            }
+
+            for (int k = 1; k < multiple; k++) {
+                System.arraycopy(pixels, rowStart, pixels, rowStart + k * size, rowLength);
+            }
+        }
+    }
+
+    /**
+     * Igual que {@link #rasterizeModules(ByteMatrix, Layout, int[], int)}
+     * sobre índices de paleta
+     */
+    private static void rasterizeModules(ByteMatrix modules, Layout layout, byte[] pixels, byte front) {
+        int dimension = layout.dimension();
+        int multiple = layout.multiple();
+        int size = layout.size();
+        int rowLength = dimension * multiple;
+        byte[][] array = modules.getArray();
+
+        for (int my = 0; my < dimension; my++) {
+            byte[] row = array[my];
+            int rowStart = (layout.padding() + my * multiple) * size + layout.padding();
+
+            int mx = 0;
+            while (mx < dimension) {
+                if (row[mx] != 1) {
+                    mx++;
+                    continue;
+                }
+                int runStart = mx;
+                while (mx < dimension && row[mx] == 1) {
+                    mx++;
+                }
+                Arrays.fill(pixels, rowStart + runStart * multiple, rowStart + mx * multiple, front);
+            }
+
+            for (int k = 1; k < multiple; k++) {
+                System.arraycopy(pixels, rowStart, pixels, rowStart + k * size, rowLength);
+            }
+        }
+    }
+}
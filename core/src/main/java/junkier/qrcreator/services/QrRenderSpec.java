@@ -0,0 +1,129 @@
+package junkier.qrcreator.services;
+
+import java.util.Objects;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+
+/**
+ * Descripción inmutable de un QR a renderizar, con colores ARGB y sin tipos
+ * de JavaFX. Se construye con {@link #of(String)} y los métodos with. El
+ * tamaño y la zona de silencio se acotan aquí, para que ninguna entrada
+ * (servidor, lote, exportación) pida una imagen que no quepa en memoria
+ *
+ * @param content Datos del QR
+ * @param front color ARGB de los datos de la matriz
+ * @param back color ARGB del fondo del QR
+ * @param eyeShape Forma de las esquinas del QR
+ * @param logo Imagen central, o null si no hay
+ * @param size lado de la imagen en pixeles
+ * @param margin zona de silencio en módulos
+ * @param dpi resolución que se guarda en el PNG (chunk pHYs), 0 para no
+ * guardarla
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.2
+ */
+public record QrRenderSpec(String content, int front, int back, EyeShape eyeShape, QrLogoSource logo,
+        int size, int margin, int dpi) {
+
+    /**
+     * Lado mínimo en pixeles, uno por módulo de la versión 1
+     */
+    public static final int MIN_SIZE = 21;
+    /**
+     * Lado máximo en pixeles
+     */
+    public static final int MAX_SIZE = 4096;
+    /**
+     * Zona de silencio máxima en módulos
+     */
+    public static final int MAX_MARGIN = 16;
+
+    public QrRenderSpec {
+        Objects.requireNonNull(content, "content");
+        if (eyeShape == null) {
+            eyeShape = EyeShape.SQUARE;
+        }
+        if (size < MIN_SIZE || size > MAX_SIZE) {
+            throw new IllegalArgumentException("El tamaño tiene que estar entre " + MIN_SIZE + " y " + MAX_SIZE
+                    + ": " + size);
+        }
+        if (margin < 0 || margin > MAX_MARGIN) {
+            throw new IllegalArgumentException("La zona de silencio tiene que estar entre 0 y " + MAX_MARGIN
+                    + ": " + margin);
+        }
+        if (dpi < 0) {
+            throw new IllegalArgumentException("La resolución no puede ser negativa: " + dpi);
+        }
+    }
+
+    /**
+     * Especificación con el tamaño y la zona de silencio por defecto y sin
+     * resolución
+     */
+    public QrRenderSpec(String content, int front, int back, EyeShape eyeShape, QrLogoSource logo) {
+        this(content, front, back, eyeShape, logo, QrRenderer.DEFAULT_SIZE, QrRenderer.DEFAULT_MARGIN, 0);
+    }
+
+    /**
+     * QR negro sobre blanco, con ojos cuadrados y sin logo
+     *
+     * @param content Datos del QR
+     * @return la especificación
+     */
+    public static QrRenderSpec of(String content) {
+        return new QrRenderSpec(content, QrColors.BLACK, QrColors.WHITE, EyeShape.SQUARE, null);
+    }
+
+    public QrRenderSpec withContent(String content) {
+        return new QrRenderSpec(content, front, back, eyeShape, logo, size, margin, dpi);
+    }
+
+    public QrRenderSpec withColors(int front, int back) {
+        return new QrRenderSpec(content, front, back, eyeShape, logo, size, margin, dpi);
+    }
+
+    public QrRenderSpec withEyeShape(EyeShape eyeShape) {
+        return new QrRenderSpec(content, front, back, eyeShape, logo, size, margin, dpi);
+    }
+
+    public QrRenderSpec withLogo(QrLogoSource logo) {
+        return new QrRenderSpec(content, front, back, eyeShape, logo, size, margin, dpi);
+    }
+
+    /**
+     * @param size lado de la imagen en pixeles
+     * @param margin zona de silencio en módulos
+     * @return la especificación con la nueva geometría
+     */
+    public QrRenderSpec withSize(int size, int margin) {
+        return new QrRenderSpec(content, front, back, eyeShape, logo, size, margin, dpi);
+    }
+
+    /**
+     * @param dpi resolución que se guarda en el PNG, 0 para no guardarla
+     * @return la especificación con la nueva resolución
+     */
+    public QrRenderSpec withDpi(int dpi) {
+        return new QrRenderSpec(content, front, back, eyeShape, logo, size, margin, dpi);
+    }
+
+    /**
+     * Lado en pixeles para imprimir a un tamaño físico
+     *
+     * @param millimeters lado impreso en milímetros
+     * @param dpi resolución de impresión
+     * @return la especificación con el tamaño y la resolución
+     */
+    public QrRenderSpec withPrintSize(double millimeters, int dpi) {
+        return new QrRenderSpec(content, front, back, eyeShape, logo,
+                (int) Math.round(millimeters / 25.4 * dpi), margin, dpi);
+    }
+
+    /**
+     * @return true si el QR lleva imagen central
+     */
+    public boolean hasLogo() {
+        return logo != null;
+    }
+}
@@ -0,0 +1,228 @@
+package junkier.qrcreator.services;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.qrcode.encoder.QRCode;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+/**
+ * Renderizador reutilizable del QR a partir de un {@link QrRenderSpec}. No
+ * guarda estado entre llamadas salvo la caché opcional y las últimas
+ * rejillas de módulos, así que una misma instancia se puede usar desde
+ * varios hilos. El tamaño y la zona de silencio vienen en cada
+ * especificación; las constantes son los valores por defecto
+ *
+ * Las rejillas ({@link QrModuleRaster}) no dependen de los colores: un
+ * cambio solo de colores monta una paleta nueva sobre la rejilla anterior
+ * sin codificar ni rasterizar. Sin logo la imagen es indexada y comparte
+ * los pixeles con las demás de la misma rejilla. Quien pinta en su propio
+ * buffer puede pedir las piezas sin montar con {@link #layers(QrRenderSpec)}
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.9
+ */
+public class QrRenderer {
+
+    public static final int DEFAULT_SIZE = 600;
+    public static final int DEFAULT_MARGIN = 1;
+
+    private static final int MODULE_ENTRIES = 8;
+    private static final long MODULE_BYTES = 16L * 1024 * 1024;
+
+    /**
+     * Piezas del QR sin montar: la rejilla de módulos, los colores y la caja
+     * del logo, que va centrada. Las dos imágenes son compartidas y no se
+     * deben modificar
+     *
+     * @param modules rejilla de módulos
+     * @param front color ARGB de los módulos oscuros
+     * @param back color ARGB del fondo
+     * @param logoBox caja del logo ya compuesta, o null si no lleva
+     */
+    public record Layers(QrModuleRaster modules, int front, int back, BufferedImage logoBox) {
+
+        /**
+         * @return columna y fila de la esquina de la caja del logo
+         */
+        public int logoOffset() {
+            return (modules.size() - logoBox.getWidth()) / 2;
+        }
+    }
+
+    private final QrRenderCache cache;
+    private final QrLruCache<QrModuleRaster.Key, QrModuleRaster> modules = new QrLruCache<>(MODULE_ENTRIES,
+            MODULE_BYTES, QrModuleRaster::weight);
+
+    public QrRenderer() {
+        this(null);
+    }
+
+    /**
+     * @param cache caché de renders, o null para no cachear
+     */
+    public QrRenderer(QrRenderCache cache) {
+        this.cache = cache;
+    }
+
+    public QrRenderCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Renderizar el QR completo: codificación, ojos y logo
+     *
+     * @param spec descripción del QR
+     * @return Imagen del QR
+     * @throws WriterException Error al codificar el contenido
+     * @throws IOException Error al leer el logo
+     */
+    public BufferedImage render(QrRenderSpec spec) throws WriterException, IOException {
+        QrRenderCache.Key key = cache == null ? null : QrRenderCache.Key.of(spec, QrRenderCache.FORMAT_IMAGE);
+        if (key != null) {
+            BufferedImage cached = cache.getImage(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        QrModuleRaster grid = modules.get(QrModuleRaster.Key.of(spec));
+        BufferedImage qr = grid != null ? paint(spec, grid) : render(spec, encode(spec.content()));
+
+        if (key != null) {
+            cache.putImage(key, qr);
+        }
+        return qr;
+    }
+
+    /**
+     * Renderizar un símbolo ya codificado con el tamaño, los colores, los
+     * ojos y el logo de la especificación, sin pasar por la caché de renders
+     * (sí reutiliza la rejilla si ya se hizo para otros colores). Sirve
+     * para sacar varios tamaños de una sola codificación. Con logo y sin
+     * rejilla hecha se pinta directamente en ARGB, porque la rejilla habría
+     * que expandirla a ARGB de todos modos
+     *
+     * @param spec descripción del QR, su contenido no se vuelve a codificar
+     * @param code símbolo codificado del contenido
+     * @return Imagen del QR
+     * @throws IOException Error al leer el logo
+     */
+    public BufferedImage render(QrRenderSpec spec, QRCode code) throws IOException {
+        QrModuleRaster grid = modules.get(QrModuleRaster.Key.of(spec));
+        if (grid == null && spec.hasLogo()) {
+            BufferedImage qr = QrRenderEngine.render(code, spec.size(), spec.margin(), spec.eyeShape(), spec.front(),
+                    spec.back());
+            return logo(spec, qr);
+        }
+        return paint(spec, grid != null ? grid : grid(spec, code));
+    }
+
+    /**
+     * Piezas del QR sin montar en una imagen. Solo codifica y rasteriza si la
+     * rejilla no está ya hecha para otros colores o logo
+     *
+     * @param spec descripción del QR
+     * @return rejilla, colores y caja del logo
+     * @throws WriterException Error al codificar el contenido
+     * @throws IOException Error al leer el logo
+     */
+    public Layers layers(QrRenderSpec spec) throws WriterException, IOException {
+        QrModuleRaster grid = modules.get(QrModuleRaster.Key.of(spec));
+        if (grid == null) {
+            grid = grid(spec, encode(spec.content()));
+        }
+        BufferedImage logoBox = spec.hasLogo() ? logoBox(grid.size(), spec.logo(), spec.back()) : null;
+        return new Layers(grid, spec.front(), spec.back(), logoBox);
+    }
+
+    private QrModuleRaster grid(QrRenderSpec spec, QRCode code) {
+        QrModuleRaster.Key key = QrModuleRaster.Key.of(spec);
+        QrModuleRaster grid = modules.get(key);
+        if (grid == null) {
+            grid = QrModuleRaster.of(code, spec.size(), spec.margin(), spec.eyeShape());
+            modules.put(key, grid);
+        }
+        return grid;
+    }
+
+    /**
+     * Poner los colores, y el logo si lo hay, sobre una rejilla ya hecha
+     */
+    private static BufferedImage paint(QrRenderSpec spec, QrModuleRaster grid) throws IOException {
+        // Insertar logo si existe
+        if (spec.hasLogo()) {
+            return logo(spec, grid.argb(spec.front(), spec.back()));
+        }
+        QrMetrics.count(QrMetrics.Counter.GENERATED, 1);
+        return grid.image(spec.front(), spec.back());
+    }
+
+    /**
+     * Insertar el logo de la especificación sobre un QR ARGB ya pintado
+     */
+    private static BufferedImage logo(QrRenderSpec spec, BufferedImage qr) throws IOException {
+        long start = QrMetrics.start();
+        qr = insertLogo(qr, spec.logo(), spec.back());
+        QrMetrics.stop(QrMetrics.Stage.LOGO, start);
+        QrMetrics.count(QrMetrics.Counter.GENERATED, 1);
+        return qr;
+    }
+
+    /**
+     * Codificar el contenido, reutilizando la matriz de la caché si la hay
+     *
+     * @param content Datos del QR
+     * @return el símbolo codificado
+     * @throws WriterException Error al codificar el contenido
+     */
+    public QRCode encode(String content) throws WriterException {
+        if (cache == null) {
+            return QrRenderEngine.encode(content);
+        }
+        QRCode code = cache.getCode(content);
+        if (code == null) {
+            code = QrRenderEngine.encode(content);
+            cache.putCode(content, code);
+        }
+        return code;
+    }
+
+    /**
+     * Insertar logo centrado con fondo sólido, siendo el color solido el mismo
+     * que el del QR. La caja del logo sale de {@link QrLogoCache}, así que
+     * solo se decodifica y escala la primera vez. En QR demasiado pequeños
+     * para que el logo se distinga se deja sin logo
+     *
+     * @param qr Imagen de la Matriz generada
+     * @param logo Origen del logo
+     * @param back color ARGB del fondo
+     * @return
+     * @throws IOException Error al leer el logo
+     */
+    private static BufferedImage insertLogo(BufferedImage qr, QrLogoSource logo, int back) throws IOException {
+        BufferedImage logoBox = logoBox(qr.getWidth(), logo, back);
+        if (logoBox == null) {
+            return qr;
+        }
+
+        Graphics2D g2 = qr.createGraphics();
+        g2.setComposite(AlphaComposite.SrcOver);
+        int x = (qr.getWidth() - logoBox.getWidth()) / 2;
+        int y = (qr.getHeight() - logoBox.getHeight()) / 2;
+        g2.drawImage(logoBox, x, y, null);
+        g2.dispose();
+
+        return qr;
+    }
+
+    /**
+     * Caja del logo para un QR de este lado, o null si no cabe
+     */
+    private static BufferedImage logoBox(int size, QrLogoSource logo, int back) throws IOException {
+        return QrLogoCache.logoBox(logo, size / 6, back);
+    }
+}
@@ -0,0 +1,181 @@
+package junkier.qrcreator.services;
+
+import com.google.zxing.ChecksumException;
+import com.google.zxing.FormatException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.BitSource;
+import com.google.zxing.common.DecoderResult;
+import com.google.zxing.qrcode.decoder.Decoder;
+import com.google.zxing.qrcode.decoder.Mode;
+import com.google.zxing.qrcode.decoder.Version;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.QRCode;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Informe de cómo ha quedado codificado un QR: versión, tamaño y los
+ * segmentos (numérico, alfanumérico, bytes, ECI) que ha elegido el
+ * codificador. Los segmentos se sacan leyendo los codewords de datos del
+ * propio símbolo, así que describen exactamente lo que hay impreso. Se
+ * parte de un símbolo ya codificado, sin volver a codificar
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.1
+ */
+public class QrSegments {
+
+    /**
+     * Un segmento del flujo de datos
+     *
+     * @param mode modo del segmento
+     * @param count caracteres (bytes en modo byte), o el número de
+     * designador en los ECI
+     */
+    public record Segment(Mode mode, int count) {
+
+        @Override
+        public String toString() {
+            return mode + "(" + count + ")";
+        }
+    }
+
+    /**
+     * Resultado del análisis
+     *
+     * @param version versión elegida
+     * @param dimension módulos por lado
+     * @param segments segmentos en orden
+     */
+    public record Report(int version, int dimension, List<Segment> segments) {
+
+        /**
+         * @return si lleva algún designador ECI
+         */
+        public boolean eci() {
+            return segments.stream().anyMatch(segment -> segment.mode() == Mode.ECI);
+        }
+
+        /**
+         * @return caracteres por modo, sin los ECI
+         */
+        public Map<Mode, Integer> characters() {
+            Map<Mode, Integer> characters = new EnumMap<>(Mode.class);
+            for (Segment segment : segments) {
+                if (segment.mode() != Mode.ECI) {
+                    characters.merge(segment.mode(), segment.count(), Integer::sum);
+                }
+            }
+            return characters;
+        }
+
+        @Override
+        public String toString() {
+            return "v" + version + " (" + dimension + "x" + dimension + "): " + segments;
+        }
+    }
+
+    /**
+     * Describir un símbolo ya codificado
+     *
+     * @param code símbolo codificado
+     * @return el informe
+     */
+    public static Report describe(QRCode code) {
+        return new Report(code.getVersion().getVersionNumber(), code.getMatrix().getWidth(), segments(code));
+    }
+
+    /**
+     * Segmentos de un símbolo ya codificado
+     *
+     * @param code símbolo codificado
+     * @return los segmentos en orden
+     */
+    public static List<Segment> segments(QRCode code) {
+        ByteMatrix modules = code.getMatrix();
+        int dimension = modules.getWidth();
+        BitMatrix bits = new BitMatrix(dimension);
+        for (int y = 0; y < dimension; y++) {
+            for (int x = 0; x < dimension; x++) {
+                if (modules.get(x, y) == 1) {
+                    bits.set(x, y);
+                }
+            }
+        }
+        DecoderResult decoded;
+        try {
+            decoded = new Decoder().decode(bits);
+        } catch (ChecksumException | FormatException e) {
+            throw new IllegalStateException("El símbolo recién codificado no se puede leer", e);
+        }
+        return parse(decoded.getRawBytes(), code.getVersion());
+    }
+
+    /**
+     * Recorre las cabeceras de los segmentos saltando sus datos
+     */
+    private static List<Segment> parse(byte[] data, Version version) {
+        List<Segment> segments = new ArrayList<>();
+        BitSource bits = new BitSource(data);
+        while (bits.available() >= 4) {
+            Mode mode = Mode.forBits(bits.readBits(4));
+            switch (mode) {
+                case TERMINATOR -> {
+                    return segments;
+                }
+                case ECI -> {
+                    int first = bits.readBits(8);
+                    int value;
+                    if ((first & 0x80) == 0) {
+                        value = first;
+                    } else if ((first & 0xC0) == 0x80) {
+                        value = ((first & 0x3F) << 8) | bits.readBits(8);
+                    } else {
+                        value = ((first & 0x1F) << 16) | bits.readBits(16);
+                    }
+                    segments.add(new Segment(mode, value));
+                }
+                case FNC1_FIRST_POSITION -> segments.add(new Segment(mode, 0));
+                case FNC1_SECOND_POSITION -> {
+                    bits.readBits(8);
+                    segments.add(new Segment(mode, 0));
+                }
+                case STRUCTURED_APPEND -> bits.readBits(16);
+                default -> {
+                    if (mode == Mode.HANZI) {
+                        bits.readBits(4);
+                    }
+                    int count = bits.readBits(mode.getCharacterCountBits(version));
+                    skip(bits, dataBits(mode, count));
+                    segments.add(new Segment(mode, count));
+                }
+            }
+        }
+        return segments;
+    }
+
+    private static int dataBits(Mode mode, int count) {
+        return switch (mode) {
+            case NUMERIC ->
+                count / 3 * 10 + (count % 3 == 2 ? 7 : count % 3 == 1 ? 4 : 0);
+            case ALPHANUMERIC ->
+                count / 2 * 11 + (count % 2) * 6;
+            case BYTE ->
+                count * 8;
+            default ->
+                count * 13;
+        };
+    }
+
+    private static void skip(BitSource bits, int count) {
+        while (count > 0) {
+            int step = Math.min(count, 32);
+            bits.readBits(step);
+            count -= step;
+        }
+    }
+}
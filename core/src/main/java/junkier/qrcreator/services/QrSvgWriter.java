@@ -0,0 +1,171 @@
+package junkier.qrcreator.services;
+
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.QRCode;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import junkier.qrcreator.services.QrRenderEngine.Layout;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+
+/**
+ * Escritor SVG del QR a partir de la matriz de módulos. Los módulos se
+ * trazan como contornos de regiones y los ojos con su forma real, todo en un
+ * único path en unidades de módulo que se va escribiendo según se genera
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.1
+ */
+public class QrSvgWriter {
+
+    /**
+     * Caracteres que se acumulan antes de pasarlos al destino
+     */
+    private static final int CHUNK = 8192;
+
+    /**
+     * Escribir el QR como SVG en un flujo de bytes, en UTF-8. El flujo no se
+     * cierra
+     *
+     * @param code símbolo codificado
+     * @param size tamaño en pixeles del documento
+     * @param margin zona de silencio en módulos
+     * @param eyeshape Forma de las esquinas del QR elegida
+     * @param front color ARGB de los módulos oscuros
+     * @param back color ARGB del fondo
+     * @param out destino del documento
+     * @throws IOException Error al escribir
+     */
+    public static void write(QRCode code, int size, int margin, EyeShape eyeshape, int front, int back, OutputStream out)
+            throws IOException {
+        write(code, size, margin, eyeshape, front, back,
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Escribir el QR como SVG
+     *
+     * @param code símbolo codificado
+     * @param size tamaño en pixeles del documento
+     * @param margin zona de silencio en módulos
+     * @param eyeshape Forma de las esquinas del QR elegida
+     * @param front color ARGB de los módulos oscuros
+     * @param back color ARGB del fondo
+     * @param out destino del documento
+     * @throws IOException Error al escribir
+     */
+    public static void write(QRCode code, int size, int margin, EyeShape eyeshape, int front, int back, Writer out)
+            throws IOException {
+        ByteMatrix modules = code.getMatrix();
+        int dimension = modules.getWidth();
+        int total = dimension + margin * 2;
+        boolean shaped = eyeshape != null && eyeshape != EyeShape.SQUARE;
+        List<int[]> eyes = shaped ? QrEyeLocator.locate(new Layout(dimension, 1, 0, dimension)) : List.of();
+
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        out.write("<svg xmlns=\"http://www.w3.org/2000/svg\" version=\"1.1\" width=\"" + size + "\" height=\"" + size
+                + "\" viewBox=\"0 0 " + total + " " + total + "\">\n");
+        out.write("<rect width=\"" + total + "\" height=\"" + total + "\"" + fill(back) + "/>\n");
+        out.write("<path" + fill(front) + " d=\"");
+
+        SvgPath path = new SvgPath(out);
+        QrVectorPaths.modules(modules, margin, eyes, path);
+        for (int[] eye : eyes) {
+            QrVectorPaths.eye(eyeshape, eye[0] + margin, eye[1] + margin, eye[2], path);
+        }
+        path.flush();
+
+        out.write("\"/>\n</svg>\n");
+        out.flush();
+    }
+
+    /**
+     * Datos del atributo d. Las líneas horizontales y verticales se escriben
+     * relativas (h y v), que es casi todo el QR
+     */
+    private static final class SvgPath implements QrVectorPaths.PathSink {
+
+        private final Writer out;
+        private final StringBuilder buffer = new StringBuilder(CHUNK + 64);
+        private double x;
+        private double y;
+
+        SvgPath(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void moveTo(double x, double y) throws IOException {
+            buffer.append('M');
+            point(x, y);
+            move(x, y);
+        }
+
+        @Override
+        public void lineTo(double x, double y) throws IOException {
+            if (y == this.y) {
+                buffer.append('h');
+                QrVectorPaths.appendNumber(buffer, x - this.x);
+            } else if (x == this.x) {
+                buffer.append('v');
+                QrVectorPaths.appendNumber(buffer, y - this.y);
+            } else {
+                buffer.append('L');
+                point(x, y);
+            }
+            move(x, y);
+        }
+
+        @Override
+        public void curveTo(double x1, double y1, double x2, double y2, double x, double y) throws IOException {
+            buffer.append('C');
+            point(x1, y1);
+            buffer.append(' ');
+            point(x2, y2);
+            buffer.append(' ');
+            point(x, y);
+            move(x, y);
+        }
+
+        @Override
+        public void close() throws IOException {
+            buffer.append('z');
+        }
+
+        private void point(double x, double y) {
+            QrVectorPaths.appendNumber(buffer, x);
+            buffer.append(' ');
+            QrVectorPaths.appendNumber(buffer, y);
+        }
+
+        private void move(double x, double y) throws IOException {
+            this.x = x;
+            this.y = y;
+            if (buffer.length() >= CHUNK) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            out.append(buffer);
+            buffer.setLength(0);
+        }
+    }
+
+    private static String fill(int argb) {
+        String attribute = String.format(" fill=\"#%06X\"", argb & 0xFFFFFF);
+        int alpha = argb >>> 24;
+        if (alpha != 0xFF) {
+            StringBuilder opacity = new StringBuilder();
+            QrVectorPaths.appendNumber(opacity, alpha / 255.0);
+            attribute += " fill-opacity=\"" + opacity + "\"";
+        }
+        return attribute;
+    }
+}
@@ -0,0 +1,378 @@
+package junkier.qrcreator.services;
+
+import com.google.zxing.common.BitMatrix;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Servicio para transformar los ojos de un QR a distintas formas.
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2025-09-01
+ * @version 1.3
+ */
+public class QrTransformEyesService {
+
+    public enum EyeShape {
+        SQUARE("Cuadrado"),
+        CIRCLE("Círculo"),
+        HEART("Corazón"),
+        FLOWER("Flor"),
+        STAR("Estrella"),
+        ADD("Suma"),
+        MULTIPLY("Multiplicación"),
+        CROSS("Cruz"),
+        SUN("Sol"),
+        SNOWFLAKE("Copo de nieve");
+
+        private final String displayName;
+
+        EyeShape(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+
+        /**
+         * Busca la forma por su nombre o por el nombre mostrado, sin
+         * distinguir mayúsculas
+         *
+         * @param name nombre de la forma, por ejemplo "CIRCLE" o "Círculo"
+         * @return la forma encontrada
+         * @throws IllegalArgumentException si no existe ninguna forma con ese nombre
+         */
+        public static EyeShape fromName(String name) {
+            for (EyeShape shape : values()) {
+                if (shape.name().equalsIgnoreCase(name.trim()) || shape.displayName.equalsIgnoreCase(name.trim())) {
+                    return shape;
+                }
+            }
+            throw new IllegalArgumentException("Forma de ojo desconocida: " + name);
+        }
+    }
+
+    /**
+     * Método principal que transforma los ojos del BitMatrix según la forma
+     * deseada. Detecta los ojos por tamaño (los más grandes) y selecciona los 3
+     * más cercanos a las esquinas. Se usa para matrices de origen desconocido,
+     * cuando se conoce la geometría del QR es preferible QrEyeLocator
+     *
+     * @param matrix matriz con los valores del qr
+     * @param shape forma en la cual queremos colocar el qr
+     * @return
+     */
+    public static BitMatrix transformEyes(BitMatrix matrix, EyeShape shape) {
+        int size = matrix.getWidth();
+        boolean[][] processed = new boolean[size][size];
+
+        List<int[]> candidates = detectLargeBlocks(matrix, processed);
+
+        List<int[]> eyes = selectEyesByProximityToCorners(candidates, size, 3);
+
+        return transformEyes(matrix, eyes, shape);
+    }
+
+    /**
+     * Transforma los ojos ya localizados del BitMatrix según la forma deseada
+     *
+     * @param matrix matriz con los valores del qr
+     * @param eyes lista de {x, y, blockSize} de los ojos
+     * @param shape forma en la cual queremos colocar el qr
+     * @return la matriz transformada
+     */
+    public static BitMatrix transformEyes(BitMatrix matrix, List<int[]> eyes, EyeShape shape) {
+        for (int[] eye : eyes) {
+            applyShape(matrix, eye, shape);
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Transforma los ojos ya localizados directamente sobre los pixeles ARGB
+     * de la imagen, pintando con el fondo lo que queda fuera de la forma
+     *
+     * @param pixels buffer ARGB de la imagen
+     * @param width ancho de la imagen en pixeles
+     * @param eyes lista de {x, y, blockSize} de los ojos
+     * @param shape forma en la cual queremos colocar el qr
+     * @param back color ARGB del fondo
+     */
+    public static void transformEyes(int[] pixels, int width, List<int[]> eyes, EyeShape shape, int back) {
+        for (int[] eye : eyes) {
+            QrEyeMaskCache.get(shape, eye[2]).applyTo(pixels, width, eye[0], eye[1], back);
+        }
+    }
+
+    /**
+     * Igual que {@link #transformEyes(int[], int, List, EyeShape, int)} sobre
+     * una imagen de índices de paleta de un byte por pixel
+     *
+     * @param pixels índices de la imagen
+     * @param width ancho de la imagen en pixeles
+     * @param eyes lista de {x, y, blockSize} de los ojos
+     * @param shape forma en la cual queremos colocar el qr
+     * @param back índice del fondo
+     */
+    public static void transformEyes(byte[] pixels, int width, List<int[]> eyes, EyeShape shape, byte back) {
+        for (int[] eye : eyes) {
+            QrEyeMaskCache.get(shape, eye[2]).applyTo(pixels, width, eye[0], eye[1], back);
+        }
+    }
+
+    /**
+     * Detecta todos los bloques cuadrados grandes en la matriz. Devuelve lista
+     * de {x, y, blockSize}.
+     *
+     * @param matrix matriz con los valores del QR
+     * @param boolean tabla (lista bidimensional) donde se coloca si el bit fue
+     * procesado o no
+     * @return la lista bidimensional de candidatos
+     */
+    private static List<int[]> detectLargeBlocks(BitMatrix matrix, boolean[][] processed) {
+        int size = matrix.getWidth();
+        List<int[]> candidates = new ArrayList<>();
+
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                if (matrix.get(x, y) && !processed[x][y]) {
+                    int blockSize = detectSquareBlock(matrix, x, y);
+
+                    candidates.add(new int[]{x, y, blockSize});
+
+                    // Marcar procesado
+                    for (int dx = 0; dx < blockSize; dx++) {
+                        for (int dy = 0; dy < blockSize; dy++) {
+                            if (x + dx < size && y + dy < size) {
+                                processed[x + dx][y + dy] = true;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Detecta el tamaño de un bloque cuadrado comenzando en (x, y).
+     *
+     * @param matrix matriz con los valores del QR
+     * @param x posicion x inicial del bloque candidato
+     * @param y posicion y inicial del bloque candidato
+     * @return tamaño del bloque
+     */
+    private static int detectSquareBlock(BitMatrix matrix, int x, int y) {
+        int size = matrix.getWidth();
+        int blockSize = 1;
+
+        while (x + blockSize < size && y + blockSize < size) {
+            boolean square = true;
+            for (int dx = 0; dx <= blockSize; dx++) {
+                if (!matrix.get(x + dx, y + blockSize)) {
+                    square = false;
+                    break;
+                }
+            }
+            for (int dy = 0; dy <= blockSize; dy++) {
+                if (!matrix.get(x + blockSize, y + dy)) {
+                    square = false;
+                    break;
+                }
+            }
+            if (!square) {
+                break;
+            }
+            blockSize++;
+        }
+
+        return blockSize;
+    }
+
+    /**
+     * Selecciona los n bloques más cercanos a cualquier esquina, filrando por
+     * primero el tamaño maximo, luego los 3 más cercanos
+     * 
+     * @param candidates lista de candidatos previamente seleccionados
+     * @param matrixSize tamaño completo de la matriz
+     * @param n bloques totales a elegir
+     * @return 
+     */
+    private static List<int[]> selectEyesByProximityToCorners(List<int[]> candidates, int matrixSize, int n) {
+        int[][] corners = {
+            {0, 0}, // top-left
+            {matrixSize - 1, 0}, // top-right
+            {0, matrixSize - 1} // bottom-left
+        };
+
+        int maxSize = candidates.stream().mapToInt(b -> b[2]).max().orElse(0);
+
+        List<int[]> maxCandidates = new ArrayList<>();
+        for (int[] c : candidates) {
+            if (c[2] == maxSize) {
+                maxCandidates.add(c);
+            }
+        }
+
+        maxCandidates.sort((a, b) -> Integer.compare(minDistanceToCorners(a, corners), minDistanceToCorners(b, corners)));
+
+        return maxCandidates.stream().limit(n).toList();
+    }
+
+    /**
+     * Calcula la distancia mínima de un bloque a las esquinas.
+     * 
+     * @param candidate candidato elegido
+     * @param corners esquinas de la matriz previamente asignadas
+     * @return valor de la distancia minima
+     */
+    private static int minDistanceToCorners(int[] candidate, int[][] corners) {
+        int x0 = candidate[0];
+        int y0 = candidate[1];
+        int blockSize = candidate[2];
+        int cx = x0 + blockSize / 2;
+        int cy = y0 + blockSize / 2;
+
+        int minDist = Integer.MAX_VALUE;
+        for (int[] corner : corners) {
+            int dx = cx - corner[0];
+            int dy = cy - corner[1];
+            int distSq = dx * dx + dy * dy;
+            if (distSq < minDist) {
+                minDist = distSq;
+            }
+        }
+        return minDist;
+    }
+
+    /**
+     * Aplica la forma deseada a un bloque de la matriz, usando la máscara
+     * precalculada de la forma para ese tamaño de bloque.
+     * CIRCULO, CORAZON, ESTRELLA, FLOR, SUMA, MULTIPLICACIÓN
+     * CRUZ, SOL, COPO DE NIEVE o DEFAULT = CUADRADO
+     * 
+     * @param matrix Matriz original 
+     * @param eye bloque que hay que cambiar
+     * @param shape forma elegida
+     */
+    private static void applyShape(BitMatrix matrix, int[] eye, EyeShape shape) {
+        QrEyeMaskCache.get(shape, eye[2]).applyTo(matrix, eye[0], eye[1]);
+    }
+
+    /**
+     * Comprueba si un pixel del bloque queda dentro de la forma elegida. Solo
+     * se evalua al construir las máscaras de QrEyeMaskCache
+     *
+     * @param shape forma elegida
+     * @param dx posición x dentro del bloque
+     * @param dy posición y dentro del bloque
+     * @param blockSize tamaño del bloque
+     * @return true si el pixel se mantiene
+     */
+    static boolean keep(EyeShape shape, int dx, int dy, int blockSize) {
+        double nx = (dx - blockSize / 2.0 + 0.5) / (blockSize / 2.0);
+        double ny = (dy - blockSize / 2.0 + 0.5) / (blockSize / 2.0);
+        return inside(shape, nx, ny);
+    }
+
+    /**
+     * Comprueba si un punto del bloque, en coordenadas normalizadas entre -1
+     * y 1 desde el centro (y hacia abajo), queda dentro de la forma. Lo usan
+     * las máscaras y el trazado vectorial de los ojos
+     *
+     * @param shape forma elegida
+     * @param nx posición x normalizada
+     * @param ny posición y normalizada
+     * @return true si el punto está dentro
+     */
+    static boolean inside(EyeShape shape, double nx, double ny) {
+        boolean keep;
+        switch (shape) {
+            case CIRCLE ->
+                keep = (nx * nx + ny * ny) <= 1;
+            case HEART -> {
+                double x = nx * 1.3; // escala horizontal
+                double y = -ny * 1.3 + 0.2; // escala vertical
+                keep = Math.pow(x * x + y * y - 1, 3) - x * x * y * y * y <= 0;
+            }
+
+            case STAR -> {
+                double angle = Math.atan2(ny, nx);
+                double r = Math.sqrt(nx * nx + ny * ny);
+                double rOuter = 1.0;
+                double rInner = 0.5;
+                int spikes = 5;
+                double theta = angle * spikes;
+                double starRadius = rInner + (rOuter - rInner) * (Math.cos(theta) * 0.5 + 0.5);
+                keep = r <= starRadius;
+            }
+            case FLOWER -> {
+                double angle = Math.atan2(ny, nx);
+                double r = Math.sqrt(nx * nx + ny * ny);
+                double star = Math.cos(5 * angle) * 0.5 + 0.5;
+                keep = r <= star;
+            }
+            case ADD ->
+                keep = Math.abs(nx) <= 0.2 || Math.abs(ny) <= 0.2; // una cruz simple
+            case CROSS -> {
+                double verticalWidth = 0.2;      // ancho del brazo vertical
+                double horizontalHeight = 0.2;   // grosor del brazo horizontal
+                double horizontalLength = 0.75;  // longitud del brazo horizontal
+                double horizontalOffset = 0.25;   // desplazamiento vertical del brazo horizontal hacia arriba
+
+                boolean vertical = Math.abs(nx) <= verticalWidth && ny >= -1 && ny <= 1;
+                boolean horizontal = Math.abs(ny + horizontalOffset) <= horizontalHeight && nx >= -horizontalLength && nx <= horizontalLength;
+
+                keep = vertical || horizontal;
+            }
+
+            case MULTIPLY ->
+                keep = Math.abs(nx + ny) <= 0.2 || Math.abs(nx - ny) <= 0.2;
+            case SUN -> {
+                double r = Math.sqrt(nx * nx + ny * ny);
+
+                double centerRadius = 0.6;
+                int spikes = 8;
+                double spikeLength = 0.4;
+                double spikeWidth = 0.05;
+
+                boolean central = r <= centerRadius;
+
+                // calcular el ángulo de cada rayo
+                double sector = 2 * Math.PI / spikes;
+                boolean rays = false;
+                for (int i = 0; i < spikes; i++) {
+                    double rayAngle = i * sector;
+                    // vector perpendicular al rayo
+                    double dxSun = nx - Math.cos(rayAngle) * r;
+                    double dySun = ny - Math.sin(rayAngle) * r;
+                    double dist = Math.sqrt(dxSun * dxSun + dySun * dySun);
+                    if (r > centerRadius && r <= centerRadius + spikeLength && dist <= spikeWidth) {
+                        rays = true;
+                        break;
+                    }
+                }
+
+                keep = central || rays;
+            }
+
+            case SNOWFLAKE -> {
+                double angle = Math.atan2(ny, nx);
+                double r = Math.sqrt(nx * nx + ny * ny);
+                keep = r <= 1 && (Math.abs(Math.sin(6 * angle)) > 0.5 || Math.abs(nx) < 0.1 || Math.abs(ny) < 0.1); // copo de nieve estilizado
+            }
+            default ->
+                keep = true;
+        }
+
+        return keep;
+    }
+}
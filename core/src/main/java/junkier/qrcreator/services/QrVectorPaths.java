@@ -0,0 +1,326 @@
+package junkier.qrcreator.services;
+
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import junkier.qrcreator.services.QrTransformEyesService.EyeShape;
+
+/**
+ * Geometría vectorial del QR, común a los escritores SVG y PDF. Los módulos
+ * oscuros se trazan como contornos de regiones (un polígono por zona
+ * conexa, con sus huecos) y los ojos como la forma real, con curvas, en vez
+ * de rasterizar sus máscaras
+ *
+ * Todos los contornos exteriores van en sentido horario en pantalla (y hacia
+ * abajo) y los huecos al revés, así que se rellenan con la regla nonzero
+ *
+ * @author Cristian Delgado Cruz
+ * @since 2026-10-17
+ * @version 1.0
+ */
+final class QrVectorPaths {
+
+    /**
+     * Destino de los trazos, en unidades de módulo
+     */
+    interface PathSink {
+
+        void moveTo(double x, double y) throws IOException;
+
+        void lineTo(double x, double y) throws IOException;
+
+        void curveTo(double x1, double y1, double x2, double y2, double x, double y) throws IOException;
+
+        void close() throws IOException;
+    }
+
+    /**
+     * Puntos del contorno de las formas curvas sin ecuación cerrada
+     */
+    private static final int CURVE_SAMPLES = 144;
+    private static final int BISECTION_STEPS = 24;
+    private static final double MAX_RADIUS = 1.5;
+
+    private QrVectorPaths() {
+    }
+
+    /**
+     * Traza los contornos de los módulos oscuros, fusionando los tramos
+     * alineados
+     *
+     * @param modules matriz de módulos
+     * @param offset desplazamiento en módulos, normalmente la zona de
+     * silencio
+     * @param skip bloques {x, y, lado} en módulos que no se trazan, los ojos
+     * con forma
+     * @param sink destino
+     * @throws IOException Error al escribir
+     */
+    static void modules(ByteMatrix modules, int offset, List<int[]> skip, PathSink sink) throws IOException {
+        int dimension = modules.getWidth();
+        byte[][] array = modules.getArray();
+        boolean[] dark = new boolean[dimension * dimension];
+        for (int y = 0; y < dimension; y++) {
+            for (int x = 0; x < dimension; x++) {
+                dark[y * dimension + x] = array[y][x] == 1 && !inside(skip, x, y);
+            }
+        }
+
+        // Aristas dirigidas entre vértices de la rejilla, con lo oscuro a la
+        // derecha. Un vértice tiene dos salidas solo si es un cruce en diagonal
+        int stride = dimension + 1;
+        int[] next = new int[stride * stride];
+        int[] other = new int[stride * stride];
+        Arrays.fill(next, -1);
+        Arrays.fill(other, -1);
+        for (int y = 0; y <= dimension; y++) {
+            for (int x = 0; x < dimension; x++) {
+                boolean below = y < dimension && dark[y * dimension + x];
+                boolean above = y > 0 && dark[(y - 1) * dimension + x];
+                if (below && !above) {
+                    link(next, other, y * stride + x, y * stride + x + 1);
+                } else if (above && !below) {
+                    link(next, other, y * stride + x + 1, y * stride + x);
+                }
+            }
+        }
+        for (int x = 0; x <= dimension; x++) {
+            for (int y = 0; y < dimension; y++) {
+                boolean right = x < dimension && dark[y * dimension + x];
+                boolean left = x > 0 && dark[y * dimension + x - 1];
+                if (right && !left) {
+                    link(next, other, (y + 1) * stride + x, y * stride + x);
+                } else if (left && !right) {
+                    link(next, other, y * stride + x, (y + 1) * stride + x);
+                }
+            }
+        }
+
+        // El primer vértice con salida de cada contorno siempre es una esquina
+        for (int start = 0; start < next.length; start++) {
+            while (next[start] >= 0) {
+                sink.moveTo(start % stride + offset, start / stride + offset);
+                int current = start;
+                int direction = 0;
+                do {
+                    int target = next[current];
+                    next[current] = other[current];
+                    other[current] = -1;
+                    int step = target - current;
+                    if (direction != 0 && step != direction) {
+                        sink.lineTo(current % stride + offset, current / stride + offset);
+                    }
+                    direction = step;
+                    current = target;
+                } while (current != start);
+                sink.close();
+            }
+        }
+    }
+
+    private static void link(int[] next, int[] other, int from, int to) {
+        if (next[from] < 0) {
+            next[from] = to;
+        } else {
+            other[from] = to;
+        }
+    }
+
+    private static boolean inside(List<int[]> blocks, int x, int y) {
+        for (int[] block : blocks) {
+            if (x >= block[0] && x < block[0] + block[2] && y >= block[1] && y < block[1] + block[2]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Traza la forma de un ojo dentro de su bloque, con la misma geometría
+     * que QrTransformEyesService aplica a los pixeles
+     *
+     * @param shape forma del ojo
+     * @param x esquina izquierda del bloque
+     * @param y esquina superior del bloque
+     * @param side lado del bloque
+     * @param sink destino
+     * @throws IOException Error al escribir
+     */
+    static void eye(EyeShape shape, double x, double y, double side, PathSink sink) throws IOException {
+        Frame frame = new Frame(x + side / 2, y + side / 2, side / 2, sink);
+        switch (shape) {
+            case CIRCLE ->
+                frame.circle(1);
+            case ADD -> {
+                frame.rect(-0.2, -1, 0.2, 1);
+                frame.rect(-1, -0.2, 1, 0.2);
+            }
+            case CROSS -> {
+                frame.rect(-0.2, -1, 0.2, 1);
+                frame.rect(-0.75, -0.45, 0.75, -0.05);
+            }
+            case MULTIPLY -> {
+                frame.polygon(0.8, -1, 1, -1, 1, -0.8, -0.8, 1, -1, 1, -1, 0.8);
+                frame.polygon(-0.8, -1, -1, -1, -1, -0.8, 0.8, 1, 1, 1, 1, 0.8);
+            }
+            case SUN -> {
+                frame.circle(0.6);
+                for (int i = 0; i < 8; i++) {
+                    double angle = i * Math.PI / 4;
+                    double cos = Math.cos(angle);
+                    double sin = Math.sin(angle);
+                    frame.polygon(0.55 * cos + 0.05 * sin, 0.55 * sin - 0.05 * cos,
+                            cos + 0.05 * sin, sin - 0.05 * cos,
+                            cos - 0.05 * sin, sin + 0.05 * cos,
+                            0.55 * cos - 0.05 * sin, 0.55 * sin + 0.05 * cos);
+                }
+            }
+            case SNOWFLAKE -> {
+                for (int k = 0; k < 12; k++) {
+                    frame.wedge(Math.PI / 36 + k * Math.PI / 6, 5 * Math.PI / 36 + k * Math.PI / 6);
+                }
+                double end = Math.sqrt(1 - 0.1 * 0.1);
+                frame.rect(-0.1, -end, 0.1, end);
+                frame.rect(-end, -0.1, end, 0.1);
+            }
+            case STAR, FLOWER, HEART ->
+                frame.radial(shape);
+            default ->
+                frame.rect(-1, -1, 1, 1);
+        }
+    }
+
+    /**
+     * Traducción de coordenadas normalizadas del bloque (-1 a 1 desde el
+     * centro) a unidades de módulo
+     */
+    private record Frame(double cx, double cy, double half, PathSink sink) {
+
+        private double px(double nx) {
+            return cx + nx * half;
+        }
+
+        private double py(double ny) {
+            return cy + ny * half;
+        }
+
+        void rect(double x0, double y0, double x1, double y1) throws IOException {
+            sink.moveTo(px(x0), py(y0));
+            sink.lineTo(px(x1), py(y0));
+            sink.lineTo(px(x1), py(y1));
+            sink.lineTo(px(x0), py(y1));
+            sink.close();
+        }
+
+        /**
+         * Polígono en sentido horario sea cual sea el orden de los puntos
+         */
+        void polygon(double... points) throws IOException {
+            double area = 0;
+            int n = points.length / 2;
+            for (int i = 0; i < n; i++) {
+                int j = (i + 1) % n;
+                area += points[2 * i] * points[2 * j + 1] - points[2 * j] * points[2 * i + 1];
+            }
+            for (int k = 0; k < n; k++) {
+                int i = area >= 0 ? k : n - 1 - k;
+                if (k == 0) {
+                    sink.moveTo(px(points[2 * i]), py(points[2 * i + 1]));
+                } else {
+                    sink.lineTo(px(points[2 * i]), py(points[2 * i + 1]));
+                }
+            }
+            sink.close();
+        }
+
+        void circle(double radius) throws IOException {
+            sink.moveTo(px(radius), py(0));
+            for (int i = 0; i < 4; i++) {
+                arc(radius, i * Math.PI / 2, (i + 1) * Math.PI / 2);
+            }
+            sink.close();
+        }
+
+        /**
+         * Sector circular de radio 1 entre dos ángulos
+         */
+        void wedge(double from, double to) throws IOException {
+            sink.moveTo(px(0), py(0));
+            sink.lineTo(px(Math.cos(from)), py(Math.sin(from)));
+            arc(1, from, to);
+            sink.close();
+        }
+
+        /**
+         * Arco con una curva de Bézier cúbica, desde el punto actual; preciso
+         * hasta un cuarto de vuelta
+         */
+        private void arc(double radius, double from, double to) throws IOException {
+            double k = 4.0 / 3 * Math.tan((to - from) / 4) * radius;
+            double x0 = radius * Math.cos(from);
+            double y0 = radius * Math.sin(from);
+            double x1 = radius * Math.cos(to);
+            double y1 = radius * Math.sin(to);
+            sink.curveTo(px(x0 - k * Math.sin(from)), py(y0 + k * Math.cos(from)),
+                    px(x1 + k * Math.sin(to)), py(y1 - k * Math.cos(to)), px(x1), py(y1));
+        }
+
+        /**
+         * Formas estrelladas respecto al centro: el borde se busca en cada
+         * dirección por bisección sobre la misma función que las máscaras
+         */
+        void radial(EyeShape shape) throws IOException {
+            for (int i = 0; i < CURVE_SAMPLES; i++) {
+                double angle = 2 * Math.PI * i / CURVE_SAMPLES;
+                double cos = Math.cos(angle);
+                double sin = Math.sin(angle);
+                double low = 0;
+                double high = MAX_RADIUS;
+                for (int step = 0; step < BISECTION_STEPS; step++) {
+                    double middle = (low + high) / 2;
+                    if (QrTransformEyesService.inside(shape, middle * cos, middle * sin)) {
+                        low = middle;
+                    } else {
+                        high = middle;
+                    }
+                }
+                if (i == 0) {
+                    sink.moveTo(px(low * cos), py(low * sin));
+                } else {
+                    sink.lineTo(px(low * cos), py(low * sin));
+                }
+            }
+            sink.close();
+        }
+    }
+
+    /**
+     * Escribe un número con tres decimales como mucho, sin ceros de sobra
+     *
+     * @param out destino
+     * @param value número
+     */
+    static void appendNumber(StringBuilder out, double value) {
+        long scaled = Math.round(value * 1000);
+        if (scaled < 0) {
+            out.append('-');
+            scaled = -scaled;
+        }
+        out.append(scaled / 1000);
+        int fraction = (int) (scaled % 1000);
+        if (fraction != 0) {
+            out.append('.');
+            out.append((char) ('0' + fraction / 100));
+            fraction %= 100;
+            if (fraction != 0) {
+                out.append((char) ('0' + fraction / 10));
+                fraction %= 10;
+                if (fraction != 0) {
+                    out.append((char) ('0' + fraction));
+                }
+            }
+        }
+    }
+}
@@ -27,8 +27,25 @@ jpackage ^
     --icon "%ICON_WIN%" ^
     --copyright "© 2025 Ayuntamiento de Almonte - Informatica Alcaldia. Todos los derechos reservados." ^
     --win-console ^
+    --jlink-options "--strip-native-commands --strip-debug --no-man-pages --no-header-files --generate-cds-archive" ^
     --description "Proyecto QrCreator" 
 
+:: Archivo CDS: un arranque de entrenamiento con el propio ejecutable, que se
+:: cierra solo tras el primer preview, deja en app\qrcreator.jsa las clases ya
+:: cargadas y verificadas. Despues se anade al .cfg para los siguientes arranques
+echo Entrenando el archivo CDS...
+set APP_DIR=%OUTPUT_DIR%\%APP_NAME%\app
+pushd "%APP_DIR%"
+set JAVA_TOOL_OPTIONS=-XX:ArchiveClassesAtExit=qrcreator.jsa -Dqrcreator.training=true
+"..\%APP_NAME%.exe"
+set JAVA_TOOL_OPTIONS=
+popd
+if exist "%APP_DIR%\qrcreator.jsa" (
+    echo java-options=-XX:SharedArchiveFile=$APPDIR\qrcreator.jsa>> "%APP_DIR%\%APP_NAME%.cfg"
+) else (
+    echo No se pudo generar el archivo CDS, la aplicacion arrancara sin el
+)
+
 
 echo.
 echo Paquetes creados en %OUTPUT_DIR%
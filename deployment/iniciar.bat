@@ -6,6 +6,7 @@ set JAR_NAME=launcher/QRCreator-1.0-jar-with-dependencies.jar
 set MAIN_CLASS=junkier.qrcreator.app.App
 set JAVAFX_DIR=launcher/javafx
 set MODULES=javafx.controls,javafx.fxml,javafx.swing
+set CDS_ARCHIVE=launcher/qrcreator.jsa
 
 :: Verificar que el JAR existe
 if not exist "%JAR_NAME%" (
@@ -15,8 +16,12 @@ if not exist "%JAR_NAME%" (
     exit /b 1
 )
 
+:: Archivo CDS generado con mvn -P cds package, si se ha copiado al launcher
+set CDS_OPTION=
+if exist "%CDS_ARCHIVE%" set CDS_OPTION=-XX:SharedArchiveFile=%CDS_ARCHIVE%
+
 :: Ejecutar la aplicación
-java ^
+java %CDS_OPTION% ^
     --module-path "%JAVAFX_DIR%" ^
     --add-modules %MODULES% ^
     -cp "%JAR_NAME%" ^